@@ -30,4 +30,10 @@ public class ArchivoDto extends AuditableEntityDto<Long>  {
 	@NotNull
 	@Size(max = 1024)
 	private String ruta;
+
+	@Size(max = 64)
+	private String hash;
+
+	@Size(max = 4000)
+	private String perfil;
 }
\ No newline at end of file
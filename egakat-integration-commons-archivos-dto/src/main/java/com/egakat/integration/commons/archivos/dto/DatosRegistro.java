@@ -0,0 +1,156 @@
+package com.egakat.integration.commons.archivos.dto;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Valores de los campos de un registro guardados en un arreglo indexado por
+ * {@link IndiceCampos}. Se expone como un {@code Map<String, String>} para que
+ * el código que accede a los datos por código de campo siga funcionando,
+ * mientras las etapas que conocen el indice acceden por posición.
+ * 
+ * Los códigos que no hacen parte del indice se guardan en un mapa adicional que
+ * solo se crea si se usa. Un valor null equivale a un campo sin valor.
+ */
+public class DatosRegistro extends AbstractMap<String, String> {
+
+	private final IndiceCampos indice;
+
+	private final String[] valores;
+
+	private Map<String, String> adicionales;
+
+	public DatosRegistro(IndiceCampos indice) {
+		this.indice = indice;
+		this.valores = new String[indice.size()];
+	}
+
+	public IndiceCampos getIndice() {
+		return indice;
+	}
+
+	public String get(int posicion) {
+		return valores[posicion];
+	}
+
+	public String set(int posicion, String valor) {
+		String result = valores[posicion];
+		valores[posicion] = valor;
+		return result;
+	}
+
+	@Override
+	public String get(Object key) {
+		int i = indice.getPosicion(key);
+		if (i != -1) {
+			return valores[i];
+		}
+		return adicionales == null ? null : adicionales.get(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public String put(String key, String value) {
+		int i = indice.getPosicion(key);
+		if (i != -1) {
+			return set(i, value);
+		}
+
+		if (adicionales == null) {
+			adicionales = new HashMap<>();
+		}
+		return value == null ? adicionales.remove(key) : adicionales.put(key, value);
+	}
+
+	@Override
+	public String remove(Object key) {
+		int i = indice.getPosicion(key);
+		if (i != -1) {
+			return set(i, null);
+		}
+		return adicionales == null ? null : adicionales.remove(key);
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < valores.length; i++) {
+			valores[i] = null;
+		}
+		adicionales = null;
+	}
+
+	@Override
+	public int size() {
+		int result = adicionales == null ? 0 : adicionales.size();
+		for (String valor : valores) {
+			if (valor != null) {
+				result++;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Set<Entry<String, String>> entrySet() {
+		return new AbstractSet<Entry<String, String>>() {
+			@Override
+			public Iterator<Entry<String, String>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return DatosRegistro.this.size();
+			}
+		};
+	}
+
+	private class EntryIterator implements Iterator<Entry<String, String>> {
+
+		private int posicion = siguiente(0);
+
+		private Iterator<Entry<String, String>> otros;
+
+		private int siguiente(int desde) {
+			int i = desde;
+			while (i < valores.length && valores[i] == null) {
+				i++;
+			}
+			return i;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (posicion < valores.length) {
+				return true;
+			}
+			if (otros == null) {
+				otros = adicionales == null ? null : new HashMap<>(adicionales).entrySet().iterator();
+			}
+			return otros != null && otros.hasNext();
+		}
+
+		@Override
+		public Entry<String, String> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			if (posicion < valores.length) {
+				int i = posicion;
+				posicion = siguiente(posicion + 1);
+				return new SimpleImmutableEntry<>(indice.getCodigo(i), valores[i]);
+			}
+			return otros.next();
+		}
+	}
+}
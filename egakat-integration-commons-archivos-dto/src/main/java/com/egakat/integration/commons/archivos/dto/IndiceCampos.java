@@ -0,0 +1,58 @@
+package com.egakat.integration.commons.archivos.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asigna a cada código de campo una posición fija, compartida por todos los
+ * registros de un archivo, para que {@link DatosRegistro} guarde los valores en
+ * un arreglo en lugar de un mapa por registro.
+ * 
+ * Las instancias se reutilizan para la misma lista de códigos, de modo que las
+ * distintas etapas de un mismo archivo obtienen el mismo indice y pueden
+ * acceder a los valores por posición.
+ */
+public class IndiceCampos {
+
+	private static final Map<List<String>, IndiceCampos> indices = new ConcurrentHashMap<>();
+
+	private final List<String> codigos;
+
+	private final Map<String, Integer> posiciones;
+
+	private IndiceCampos(List<String> codigos) {
+		this.codigos = Collections.unmodifiableList(new ArrayList<>(codigos));
+		this.posiciones = new HashMap<>(codigos.size() * 2);
+		for (int i = 0; i < codigos.size(); i++) {
+			this.posiciones.putIfAbsent(codigos.get(i), i);
+		}
+	}
+
+	public static IndiceCampos of(List<String> codigos) {
+		return indices.computeIfAbsent(new ArrayList<>(codigos), IndiceCampos::new);
+	}
+
+	/**
+	 * @return La posición del campo, o -1 si el campo no hace parte del indice.
+	 */
+	public int getPosicion(Object codigo) {
+		Integer result = posiciones.get(codigo);
+		return result == null ? -1 : result;
+	}
+
+	public String getCodigo(int posicion) {
+		return codigos.get(posicion);
+	}
+
+	public List<String> getCodigos() {
+		return codigos;
+	}
+
+	public int size() {
+		return codigos.size();
+	}
+}
@@ -16,7 +16,7 @@ import lombok.ToString;
 
 @Getter
 @Setter
-@ToString(callSuper = true)
+@ToString(callSuper = true, exclude = { "posicionesCampos" })
 @NoArgsConstructor
 @AllArgsConstructor
 public class RegistroDto<T extends IdentifiedDomainObject<ID>, ID> extends AuditableEntityDto<Long> {
@@ -29,10 +29,16 @@ public class RegistroDto<T extends IdentifiedDomainObject<ID>, ID> extends Audit
 
 	private String idCorrelacion;
 
-	@Setter
 	@NonNull
 	private String linea;
 
+	/**
+	 * Posiciones de inicio y fin de cada campo dentro de la linea, calculadas una
+	 * sola vez por el tokenizador y reutilizadas por las etapas siguientes. Se
+	 * descartan cuando cambia la linea.
+	 */
+	private int[] posicionesCampos;
+
 	@NonNull
 	private Map<String, String> datos = new HashMap<>();
 
@@ -44,4 +50,11 @@ public class RegistroDto<T extends IdentifiedDomainObject<ID>, ID> extends Audit
 		this.numeroLinea = numeroLinea;
 		this.linea = linea;
 	}
+
+	public void setLinea(@NonNull String linea) {
+		if (!linea.equals(this.linea)) {
+			this.posicionesCampos = null;
+		}
+		this.linea = linea;
+	}
 }
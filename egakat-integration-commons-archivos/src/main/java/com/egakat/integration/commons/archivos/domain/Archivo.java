@@ -59,6 +59,14 @@ public class Archivo extends AuditableEntity<Long> {
 	@Size(max = 1024)
 	private String ruta;
 
+	@Size(max = 64)
+	@Column(length = 64)
+	private String hash;
+
+	@Size(max = 4000)
+	@Column(length = 4000)
+	private String perfil;
+
 	@OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
 	@JoinColumn(name = "id_archivo")
 	private List<ArchivoError> errores = new ArrayList<>();
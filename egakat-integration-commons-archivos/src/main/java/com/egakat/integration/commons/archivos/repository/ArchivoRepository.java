@@ -18,6 +18,8 @@ public interface ArchivoRepository extends IdentifiedDomainObjectRepository<Arch
 
 	List<Archivo> findAllByEstadoIn(List<EstadoArchivoType> estados);
 
+	long countByIdTipoArchivoAndHashAndEstadoIn(long idTipoArchivo, String hash, List<EstadoArchivoType> estados);
+
 	// @formatter:off
 	//https://stackoverflow.com/questions/31011797/spring-data-returns-listbiginteger-instead-of-listlong?utm_medium=organic&utm_source=google_rich_qa&utm_campaign=google_rich_qa
 	@Query(value = 
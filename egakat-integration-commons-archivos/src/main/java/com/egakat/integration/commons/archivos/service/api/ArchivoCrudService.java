@@ -24,6 +24,8 @@ public interface ArchivoCrudService extends CrudService<ArchivoDto, Long> {
 	List<ArchivoDto> findAllIdBy(List<Long> tiposArchivo, List<EstadoArchivoType> estados, String nombre,
 			LocalDate fechaDesde, LocalDate fechaHasta, String usuario);
 
+	boolean existeDuplicado(ArchivoDto archivo);
+
 	@Transactional
 	ArchivoDto registrarResultadosValidacionEstructura(ArchivoDto archivo, List<ArchivoErrorDto> errores);
 
@@ -3,6 +3,7 @@ package com.egakat.integration.commons.archivos.service.impl;
 import static com.egakat.integration.commons.archivos.enums.EstadoArchivoType.ERROR_ESTRUCTURA;
 import static com.egakat.integration.commons.archivos.enums.EstadoArchivoType.ERROR_VALIDACION;
 import static com.egakat.integration.commons.archivos.enums.EstadoArchivoType.ESTRUCTURA_VALIDA;
+import static com.egakat.integration.commons.archivos.enums.EstadoArchivoType.PROCESADO;
 import static com.egakat.integration.commons.archivos.enums.EstadoArchivoType.VALIDADO;
 
 import java.math.BigInteger;
@@ -50,6 +51,8 @@ public class ArchivoCrudServiceImpl extends CrudServiceImpl<Archivo, ArchivoDto,
 		result.setNombre(entity.getNombre());
 		result.setEstado(entity.getEstado());
 		result.setRuta(entity.getRuta());
+		result.setHash(entity.getHash());
+		result.setPerfil(entity.getPerfil());
 
 		return result;
 	}
@@ -65,6 +68,8 @@ public class ArchivoCrudServiceImpl extends CrudServiceImpl<Archivo, ArchivoDto,
 		entity.setNombre(model.getNombre());
 		entity.setEstado(model.getEstado());
 		entity.setRuta(model.getRuta());
+		entity.setHash(model.getHash());
+		entity.setPerfil(model.getPerfil());
 
 		return entity;
 	}
@@ -129,6 +134,22 @@ public class ArchivoCrudServiceImpl extends CrudServiceImpl<Archivo, ArchivoDto,
 		return result;
 	}
 
+	/**
+	 * Un archivo es duplicado si otro archivo del mismo tipo con el mismo contenido
+	 * ya supero la validación de estructura.
+	 */
+	@Override
+	public boolean existeDuplicado(ArchivoDto archivo) {
+		if (archivo.getHash() == null) {
+			return false;
+		}
+
+		val estados = Arrays.asList(ESTRUCTURA_VALIDA, VALIDADO, PROCESADO);
+		val n = getRepository().countByIdTipoArchivoAndHashAndEstadoIn(archivo.getIdTipoArchivo(), archivo.getHash(),
+				estados);
+		return n > 0;
+	}
+
 	// -----------------------------------------------------------------------------------------------------------------------------------------------------------------------------
 	// --
 	// -----------------------------------------------------------------------------------------------------------------------------------------------------------------------------
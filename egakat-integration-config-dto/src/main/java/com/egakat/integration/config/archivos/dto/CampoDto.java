@@ -24,6 +24,8 @@ import com.egakat.core.domain.ObjectWithCode;
 import com.egakat.core.domain.SortableObject;
 import com.egakat.core.dto.AuditableEntityDto;
 import com.egakat.integration.config.archivos.enums.DatoType;
+import com.egakat.integration.config.archivos.parsers.DateTimeParser;
+import com.egakat.integration.config.archivos.parsers.DecimalParser;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import lombok.AccessLevel;
@@ -64,6 +66,9 @@ public class CampoDto extends AuditableEntityDto<Long> implements ObjectWithCode
 	@NumberFormat
 	private int numeroCaracteres;
 
+	@NumberFormat
+	private Integer posicionInicial;
+
 	private boolean truncarCaracteres;
 
 	private boolean ignorar;
@@ -148,30 +153,37 @@ public class CampoDto extends AuditableEntityDto<Long> implements ObjectWithCode
 		return dateTimeFormatter;
 	}
 
+	@JsonIgnore
+	private DateTimeParser dateTimeParser;
+
+	/**
+	 * Conversor especializado para el formato del campo, con un cache de los
+	 * ultimos valores convertidos. Ver {@link DateTimeParser}.
+	 */
+	public DateTimeParser getDateTimeParser() {
+		if (this.dateTimeParser == null && this.getDateTimeFormatter() != null) {
+			this.dateTimeParser = DateTimeParser.of(this.getFormato());
+		}
+		return dateTimeParser;
+	}
+
 	@JsonIgnore
 	private DecimalFormat decimalFormat;
 
 	/**
 	 * https://docs.oracle.com/javase/tutorial/i18n/format/decimalFormat.html#numberpattern
 	 * 
+	 * {@link DecimalFormat} no se puede usar desde varios hilos a la vez, y los
+	 * registros de un archivo se pueden procesar en paralelo, por lo que cada
+	 * llamada retorna una copia propia del formato del campo.
+	 * 
 	 * @return
 	 */
 	public DecimalFormat getDecimalFormat() {
 		if (this.decimalFormat == null && !this.isIgnorar()) {
 			switch (this.getTipoDato()) {
 			case DECIMAL:
-				String mensaje;
-				mensaje = "El campo %s, es de tipo %s y no tiene un formato definido.";
-				mensaje = String.format(mensaje, this.getCodigo(), this.getTipoDato());
-				Assert.hasLength(this.getFormato(), mensaje);
-
-				mensaje = "El campo %s, es de tipo %s y no tiene un separador decimal definido.";
-				mensaje = String.format(mensaje, this.getCodigo(), this.getTipoDato());
-				Assert.hasLength(this.getFormatoNumericoSeparadorDecimal(), mensaje);
-
-				mensaje = "El campo %s, es de tipo %s y no tiene un separador de grupo definido.";
-				mensaje = String.format(mensaje, this.getCodigo(), this.getTipoDato());
-				Assert.hasLength(this.getFormatoNumericoSeparadorGrupo(), mensaje);
+				validarFormatoDecimal();
 
 				DecimalFormatSymbols symbols = new DecimalFormatSymbols();
 				symbols.setDecimalSeparator(this.getFormatoNumericoSeparadorDecimal().charAt(0));
@@ -184,7 +196,49 @@ public class CampoDto extends AuditableEntityDto<Long> implements ObjectWithCode
 				break;
 			}
 		}
-		return decimalFormat;
+		return decimalFormat == null ? null : (DecimalFormat) decimalFormat.clone();
+	}
+
+	@JsonIgnore
+	private DecimalParser decimalParser;
+
+	/**
+	 * A diferencia de {@link #getDecimalFormat()}, el conversor se puede usar
+	 * desde varios hilos a la vez.
+	 */
+	public DecimalParser getDecimalParser() {
+		if (this.decimalParser == null && !this.isIgnorar()) {
+			switch (this.getTipoDato()) {
+			case DECIMAL:
+				validarFormatoDecimal();
+
+				// @formatter:off
+				this.decimalParser = DecimalParser.of(
+						this.getFormato(),
+						this.getFormatoNumericoSeparadorDecimal().charAt(0),
+						this.getFormatoNumericoSeparadorGrupo().charAt(0));
+				// @formatter:on
+				break;
+			default:
+				break;
+			}
+		}
+		return decimalParser;
+	}
+
+	private void validarFormatoDecimal() {
+		String mensaje;
+		mensaje = "El campo %s, es de tipo %s y no tiene un formato definido.";
+		mensaje = String.format(mensaje, this.getCodigo(), this.getTipoDato());
+		Assert.hasLength(this.getFormato(), mensaje);
+
+		mensaje = "El campo %s, es de tipo %s y no tiene un separador decimal definido.";
+		mensaje = String.format(mensaje, this.getCodigo(), this.getTipoDato());
+		Assert.hasLength(this.getFormatoNumericoSeparadorDecimal(), mensaje);
+
+		mensaje = "El campo %s, es de tipo %s y no tiene un separador de grupo definido.";
+		mensaje = String.format(mensaje, this.getCodigo(), this.getTipoDato());
+		Assert.hasLength(this.getFormatoNumericoSeparadorGrupo(), mensaje);
 	}
 
 	@JsonIgnore
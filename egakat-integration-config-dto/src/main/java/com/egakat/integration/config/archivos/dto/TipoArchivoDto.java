@@ -48,6 +48,22 @@ public class TipoArchivoDto extends AuditableEntityDto<Long>
 
 	@Size(max = 200)
 	private String aplicacion;
+
+	@NumberFormat
+	private Integer tamanoMuestraCharset;
+
+	@Size(max = 200)
+	private String patronEntradaComprimido;
+
+	@NumberFormat
+	private Integer paralelismo;
+
+	@NumberFormat
+	private Integer maximoErrores;
+
+	private Boolean convertirMayusculas;
+
+	private Boolean limpiarFuncionT;
 	
 	@NumberFormat
 	private int ordinal;
@@ -0,0 +1,284 @@
+package com.egakat.integration.config.archivos.parsers;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Conversor de fechas y horas de un campo. Los formatos compuestos solo por los
+ * campos yyyy, MM, dd, HH, mm y ss, cada uno a lo sumo una vez, y separadores
+ * que no son letras, como yyyyMMdd, dd/MM/yyyy o yyyy-MM-dd HH:mm:ss, se leen
+ * por posición sin pasar por {@link DateTimeFormatter}. Los demás formatos, y
+ * los valores que no tienen la forma exacta del formato o que el formatter
+ * resolvería ajustando algún campo, como el 30 de febrero o la hora 24, se
+ * delegan al {@link DateTimeFormatter}, de modo que el resultado es siempre el
+ * mismo.
+ *
+ * Como las columnas de fecha suelen tener pocos valores distintos por archivo,
+ * los ultimos valores convertidos se guardan en un cache pequeño, de modo que
+ * la conversión que se hace al validar el campo se reutiliza al mapear la
+ * entidad. El conversor se puede usar desde varios hilos a la vez.
+ */
+public final class DateTimeParser {
+
+	private static final int TAMANO_CACHE = 32;
+
+	private static final int FECHA = 0;
+
+	private static final int FECHA_HORA = 1;
+
+	private static final int HORA = 2;
+
+	private final DateTimeFormatter formatter;
+
+	private final Plantilla plantilla;
+
+	private final Entrada[] cache = new Entrada[TAMANO_CACHE];
+
+	private DateTimeParser(String formato) {
+		this.formatter = DateTimeFormatter.ofPattern(formato);
+		this.plantilla = Plantilla.compilar(formato);
+	}
+
+	public static DateTimeParser of(String formato) {
+		return new DateTimeParser(formato);
+	}
+
+	public DateTimeFormatter getFormatter() {
+		return formatter;
+	}
+
+	/**
+	 * Igual que {@link LocalDate#parse(CharSequence, DateTimeFormatter)}.
+	 *
+	 * @return La fecha, o null si el valor no es valido.
+	 */
+	public LocalDate parseLocalDate(String valor) {
+		return (LocalDate) convertir(valor, FECHA);
+	}
+
+	/**
+	 * Igual que {@link DateTimeFormatter#parseBest} con {@link LocalDateTime} y
+	 * {@link LocalDate}; una fecha sin hora corresponde al inicio del dia.
+	 *
+	 * @return La fecha y hora, o null si el valor no es valido.
+	 */
+	public LocalDateTime parseLocalDateTime(String valor) {
+		return (LocalDateTime) convertir(valor, FECHA_HORA);
+	}
+
+	/**
+	 * Igual que {@link LocalTime#parse(CharSequence, DateTimeFormatter)}.
+	 *
+	 * @return La hora, o null si el valor no es valido.
+	 */
+	public LocalTime parseLocalTime(String valor) {
+		return (LocalTime) convertir(valor, HORA);
+	}
+
+	private Object convertir(String valor, int tipo) {
+		int i = (valor.hashCode() * 31 + tipo) & (TAMANO_CACHE - 1);
+		Entrada entrada = cache[i];
+		if (entrada != null && entrada.tipo == tipo && entrada.valor.equals(valor)) {
+			return entrada.resultado;
+		}
+
+		Object result = null;
+		if (plantilla != null) {
+			result = plantilla.convertir(valor, tipo);
+		}
+		if (result == null) {
+			result = convertirConFormatter(valor, tipo);
+		}
+
+		// Las entradas son inmutables; si dos hilos escriben la misma posición
+		// queda cualquiera de las dos.
+		cache[i] = new Entrada(valor, tipo, result);
+		return result;
+	}
+
+	/**
+	 * Los errores de sintaxis se detectan sin excepciones con
+	 * {@link DateTimeFormatter#parseUnresolved}; solo los valores que fallan al
+	 * resolverse lanzan una excepción.
+	 */
+	private Object convertirConFormatter(String valor, int tipo) {
+		ParsePosition posicion = new ParsePosition(0);
+		if (formatter.parseUnresolved(valor, posicion) == null || posicion.getIndex() != valor.length()) {
+			return null;
+		}
+
+		try {
+			switch (tipo) {
+			case FECHA:
+				return LocalDate.parse(valor, formatter);
+			case HORA:
+				return LocalTime.parse(valor, formatter);
+			default:
+				TemporalAccessor temporal = formatter.parseBest(valor, LocalDateTime::from, LocalDate::from);
+				if (temporal instanceof LocalDateTime) {
+					return temporal;
+				}
+				return ((LocalDate) temporal).atStartOfDay();
+			}
+		} catch (DateTimeException e) {
+			return null;
+		}
+	}
+
+	private static class Entrada {
+		private final String valor;
+
+		private final int tipo;
+
+		private final Object resultado;
+
+		public Entrada(String valor, int tipo, Object resultado) {
+			this.valor = valor;
+			this.tipo = tipo;
+			this.resultado = resultado;
+		}
+	}
+
+	/**
+	 * Posición de cada campo dentro de los valores de un formato de ancho fijo.
+	 */
+	private static class Plantilla {
+		private final String formato;
+
+		private final boolean[] digitos;
+
+		private final int anio;
+
+		private final int mes;
+
+		private final int dia;
+
+		private final int hora;
+
+		private final int minuto;
+
+		private final int segundo;
+
+		private Plantilla(String formato, boolean[] digitos, int[] posiciones) {
+			this.formato = formato;
+			this.digitos = digitos;
+			this.anio = posiciones[0];
+			this.mes = posiciones[1];
+			this.dia = posiciones[2];
+			this.hora = posiciones[3];
+			this.minuto = posiciones[4];
+			this.segundo = posiciones[5];
+		}
+
+		/**
+		 * @return La plantilla, o null si el formato tiene campos o caracteres que
+		 *         no se leen por posición.
+		 */
+		public static Plantilla compilar(String formato) {
+			final String[] campos = { "yyyy", "MM", "dd", "HH", "mm", "ss" };
+			int[] posiciones = { -1, -1, -1, -1, -1, -1 };
+			boolean[] digitos = new boolean[formato.length()];
+
+			int i = 0;
+			while (i < formato.length()) {
+				char c = formato.charAt(i);
+				if (Character.isLetter(c)) {
+					int fin = i;
+					while (fin < formato.length() && formato.charAt(fin) == c) {
+						fin++;
+					}
+
+					int campo = indexOf(campos, formato.substring(i, fin));
+					if (campo == -1 || posiciones[campo] != -1) {
+						return null;
+					}
+					posiciones[campo] = i;
+					for (int j = i; j < fin; j++) {
+						digitos[j] = true;
+					}
+					i = fin;
+				} else if ("'[]{}#".indexOf(c) != -1) {
+					return null;
+				} else {
+					i++;
+				}
+			}
+			return new Plantilla(formato, digitos, posiciones);
+		}
+
+		private static int indexOf(String[] campos, String campo) {
+			for (int i = 0; i < campos.length; i++) {
+				if (campos[i].equals(campo)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * @return El valor, o null si el valor no tiene la forma del formato o si
+		 *         algún campo esta fuera del rango que se convierte sin ajustes.
+		 */
+		public Object convertir(String valor, int tipo) {
+			if (valor.length() != formato.length()) {
+				return null;
+			}
+			for (int i = 0; i < digitos.length; i++) {
+				char c = valor.charAt(i);
+				if (digitos[i] ? (c < '0' || c > '9') : c != formato.charAt(i)) {
+					return null;
+				}
+			}
+
+			boolean fecha = anio != -1 && mes != -1 && dia != -1;
+			boolean tiempo = hora != -1 && minuto != -1;
+			boolean alguno = anio != -1 || mes != -1 || dia != -1 || hora != -1 || minuto != -1 || segundo != -1;
+			if (!alguno || (tipo != HORA && !fecha) || (tipo == HORA && !tiempo)) {
+				return null;
+			}
+			if (tipo == FECHA_HORA && !tiempo && (hora != -1 || minuto != -1 || segundo != -1)) {
+				return null;
+			}
+
+			int a = leer(valor, anio, 4, 1);
+			int m = leer(valor, mes, 2, 1);
+			int d = leer(valor, dia, 2, 1);
+			int h = leer(valor, hora, 2, 0);
+			int n = leer(valor, minuto, 2, 0);
+			int s = leer(valor, segundo, 2, 0);
+
+			if (a < 1 || m < 1 || m > 12 || d < 1 || h > 23 || n > 59 || s > 59) {
+				return null;
+			}
+			if (d > 28 && (!fecha || d > Year.of(a).atMonth(m).lengthOfMonth())) {
+				return null;
+			}
+
+			switch (tipo) {
+			case FECHA:
+				return LocalDate.of(a, m, d);
+			case HORA:
+				return LocalTime.of(h, n, s);
+			default:
+				return LocalDateTime.of(a, m, d, h, n, s);
+			}
+		}
+
+		private static int leer(String valor, int posicion, int ancho, int predeterminado) {
+			if (posicion == -1) {
+				return predeterminado;
+			}
+			int result = 0;
+			for (int i = posicion; i < posicion + ancho; i++) {
+				result = result * 10 + (valor.charAt(i) - '0');
+			}
+			return result;
+		}
+	}
+}
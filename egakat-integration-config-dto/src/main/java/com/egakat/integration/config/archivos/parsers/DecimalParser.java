@@ -0,0 +1,276 @@
+package com.egakat.integration.config.archivos.parsers;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParsePosition;
+
+/**
+ * Conversor de valores decimales compilado a partir del formato y los
+ * separadores de un campo. Es inmutable y se puede compartir entre hilos, a
+ * diferencia de {@link DecimalFormat}.
+ *
+ * Acepta los mismos valores que un {@link DecimalFormat} con el mismo formato y
+ * separadores y con {@link DecimalFormat#setParseBigDecimal(boolean)} activo:
+ * un signo menos opcional, los digitos con separadores de grupo en la parte
+ * entera solo si el formato agrupa, un separador decimal, un exponente opcional
+ * y cualquier texto a continuación, que se ignora. El valor conserva los ceros
+ * de la parte decimal que se escribieron.
+ *
+ * Los formatos con prefijos, sufijos, porcentajes o patrones negativos se
+ * delegan a una copia de un {@link DecimalFormat} por cada conversión.
+ */
+public final class DecimalParser {
+
+	private static final String CARACTERES_FORMATO = "#0123456789,.E";
+
+	private static final int MAXIMO_DIGITOS_LONG = 18;
+
+	private static final long[] POTENCIAS_DE_DIEZ = new long[MAXIMO_DIGITOS_LONG + 1];
+
+	static {
+		POTENCIAS_DE_DIEZ[0] = 1;
+		for (int i = 1; i < POTENCIAS_DE_DIEZ.length; i++) {
+			POTENCIAS_DE_DIEZ[i] = POTENCIAS_DE_DIEZ[i - 1] * 10;
+		}
+	}
+
+	private final char separadorDecimal;
+
+	private final char separadorGrupo;
+
+	private final boolean agrupar;
+
+	private final char signoMenos;
+
+	private final String separadorExponente;
+
+	private final DecimalFormat formato;
+
+	private DecimalParser(String formato, char separadorDecimal, char separadorGrupo) {
+		DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+		symbols.setDecimalSeparator(separadorDecimal);
+		symbols.setGroupingSeparator(separadorGrupo);
+
+		this.separadorDecimal = separadorDecimal;
+		this.separadorGrupo = separadorGrupo;
+		this.signoMenos = symbols.getMinusSign();
+		this.separadorExponente = symbols.getExponentSeparator();
+
+		if (isSoportado(formato)) {
+			this.agrupar = isAgrupado(formato);
+			this.formato = null;
+		} else {
+			DecimalFormat decimalFormat = new DecimalFormat(formato, symbols);
+			decimalFormat.setParseBigDecimal(true);
+			this.agrupar = decimalFormat.isGroupingUsed();
+			this.formato = decimalFormat;
+		}
+	}
+
+	public static DecimalParser of(String formato, char separadorDecimal, char separadorGrupo) {
+		return new DecimalParser(formato, separadorDecimal, separadorGrupo);
+	}
+
+	/**
+	 * @return El valor, o null si el texto no inicia con un número valido.
+	 */
+	public BigDecimal parse(String valor) {
+		if (formato != null) {
+			return parseConFormato(valor);
+		}
+
+		Lectura lectura = leer(valor);
+		if (lectura == null) {
+			return null;
+		}
+
+		BigDecimal result;
+		if (lectura.digitos != null) {
+			BigInteger unscaled = new BigInteger(lectura.digitos.toString());
+			result = new BigDecimal(lectura.negativo ? unscaled.negate() : unscaled, lectura.escala);
+		} else {
+			result = BigDecimal.valueOf(lectura.negativo ? -lectura.unscaled : lectura.unscaled, lectura.escala);
+		}
+
+		if (lectura.exponente != 0) {
+			result = result.scaleByPowerOfTen(lectura.exponente);
+		}
+		return result;
+	}
+
+	/**
+	 * Convierte el valor al entero que resulta de multiplicarlo por 10 elevado a
+	 * la escala, descartando los decimales que sobran, sin construir un
+	 * {@link BigDecimal} cuando el valor cabe en un long.
+	 *
+	 * @throws NumberFormatException Si el texto no inicia con un número valido o
+	 *                               el resultado no cabe en un long.
+	 */
+	public long parseUnscaled(String valor, int escala) {
+		Lectura lectura = formato == null ? leer(valor) : null;
+		if (formato == null && lectura == null) {
+			throw new NumberFormatException("El valor " + valor + " no es un número valido");
+		}
+
+		if (lectura != null && lectura.digitos == null) {
+			int ajuste = escala - lectura.escala + lectura.exponente;
+			long result = lectura.negativo ? -lectura.unscaled : lectura.unscaled;
+			if (ajuste <= 0) {
+				return -ajuste > MAXIMO_DIGITOS_LONG ? 0 : result / POTENCIAS_DE_DIEZ[-ajuste];
+			}
+			if (ajuste <= MAXIMO_DIGITOS_LONG) {
+				long potencia = POTENCIAS_DE_DIEZ[ajuste];
+				long limite = Long.MAX_VALUE / potencia;
+				if (result <= limite && result >= -limite) {
+					return result * potencia;
+				}
+			}
+		}
+
+		BigDecimal decimal = parse(valor);
+		if (decimal == null) {
+			throw new NumberFormatException("El valor " + valor + " no es un número valido");
+		}
+		try {
+			return decimal.setScale(escala, RoundingMode.DOWN).unscaledValue().longValueExact();
+		} catch (ArithmeticException e) {
+			throw new NumberFormatException("El valor " + valor + " esta fuera del rango permitido");
+		}
+	}
+
+	private BigDecimal parseConFormato(String valor) {
+		DecimalFormat decimalFormat = (DecimalFormat) formato.clone();
+		ParsePosition posicion = new ParsePosition(0);
+		Number result = decimalFormat.parse(valor, posicion);
+		if (posicion.getIndex() == 0) {
+			return null;
+		}
+		return (BigDecimal) result;
+	}
+
+	private Lectura leer(String valor) {
+		int n = valor.length();
+		int i = 0;
+
+		Lectura result = new Lectura();
+		if (n > 0 && valor.charAt(0) == signoMenos) {
+			result.negativo = true;
+			i++;
+		}
+
+		boolean digito = false;
+		boolean decimal = false;
+		int significativos = 0;
+		for (; i < n; i++) {
+			char c = valor.charAt(i);
+			int d = Character.digit(c, 10);
+			if (d >= 0) {
+				digito = true;
+				if (decimal) {
+					result.escala++;
+				}
+				if (d == 0 && significativos == 0) {
+					continue;
+				}
+
+				significativos++;
+				if (result.digitos != null) {
+					result.digitos.append((char) ('0' + d));
+				} else if (significativos > MAXIMO_DIGITOS_LONG) {
+					result.digitos = new StringBuilder(n).append(result.unscaled).append((char) ('0' + d));
+				} else {
+					result.unscaled = result.unscaled * 10 + d;
+				}
+			} else if (c == separadorDecimal) {
+				if (decimal) {
+					break;
+				}
+				decimal = true;
+			} else if (c == separadorGrupo && agrupar) {
+				if (decimal) {
+					break;
+				}
+			} else if (valor.startsWith(separadorExponente, i)) {
+				result.exponente = leerExponente(valor, i + separadorExponente.length());
+				break;
+			} else {
+				break;
+			}
+		}
+
+		return digito ? result : null;
+	}
+
+	/**
+	 * Un exponente sin digitos se ignora, igual que en {@link DecimalFormat}.
+	 */
+	private int leerExponente(String valor, int i) {
+		int n = valor.length();
+		boolean negativo = false;
+		if (i < n && valor.charAt(i) == signoMenos) {
+			negativo = true;
+			i++;
+		}
+
+		boolean digito = false;
+		long result = 0;
+		for (; i < n; i++) {
+			int d = Character.digit(valor.charAt(i), 10);
+			if (d < 0) {
+				break;
+			}
+			digito = true;
+			result = Math.min(result * 10 + d, Integer.MAX_VALUE);
+		}
+
+		if (!digito) {
+			return 0;
+		}
+		return (int) (negativo ? -result : result);
+	}
+
+	private static boolean isSoportado(String formato) {
+		if (formato.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < formato.length(); i++) {
+			if (CARACTERES_FORMATO.indexOf(formato.charAt(i)) == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Igual que {@link DecimalFormat}, el formato agrupa si tiene digitos entre el
+	 * ultimo separador de grupo y el final de la parte entera.
+	 */
+	private static boolean isAgrupado(String formato) {
+		int fin = formato.indexOf('.');
+		if (fin == -1) {
+			fin = formato.indexOf('E');
+		}
+		if (fin == -1) {
+			fin = formato.length();
+		}
+
+		int grupo = formato.lastIndexOf(',', fin - 1);
+		return grupo != -1 && grupo < fin - 1;
+	}
+
+	private static class Lectura {
+		private boolean negativo;
+
+		private long unscaled;
+
+		// Digitos significativos cuando no caben en un long
+		private StringBuilder digitos;
+
+		private int escala;
+
+		private int exponente;
+	}
+}
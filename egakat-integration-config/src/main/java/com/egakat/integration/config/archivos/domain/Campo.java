@@ -70,6 +70,10 @@ public class Campo extends AuditableEntity<Long> implements ObjectWithCode<Long>
     @Column(name = "numero_caracteres")
     private int numeroCaracteres;
 
+    @NumberFormat
+    @Column(name = "posicion_inicial")
+    private Integer posicionInicial;
+
     @Column(name = "truncar_caracteres")
     private boolean truncarCaracteres;
 
@@ -70,6 +70,28 @@ public class TipoArchivo extends AuditableEntity<Long>
 	@Size(max = 200)
 	private String aplicacion;
 
+	@NumberFormat
+	@Column(name = "tamano_muestra_charset")
+	private Integer tamanoMuestraCharset;
+
+	@Size(max = 200)
+	@Column(name = "patron_entrada_comprimido")
+	private String patronEntradaComprimido;
+
+	@NumberFormat
+	@Column(name = "paralelismo")
+	private Integer paralelismo;
+
+	@NumberFormat
+	@Column(name = "maximo_errores")
+	private Integer maximoErrores;
+
+	@Column(name = "convertir_mayusculas")
+	private Boolean convertirMayusculas;
+
+	@Column(name = "limpiar_funcion_t")
+	private Boolean limpiarFuncionT;
+
 	@NumberFormat
 	private int ordinal;
 
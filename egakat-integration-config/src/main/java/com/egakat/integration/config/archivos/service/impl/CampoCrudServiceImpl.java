@@ -41,6 +41,7 @@ public class CampoCrudServiceImpl extends CrudServiceImpl<Campo, CampoDto, Long>
 		result.setDescripcion(entity.getDescripcion());
 		result.setTipoDato(entity.getTipoDato());
 		result.setNumeroCaracteres(entity.getNumeroCaracteres());
+		result.setPosicionInicial(entity.getPosicionInicial());
 		result.setTruncarCaracteres(entity.isTruncarCaracteres());
 		result.setIgnorar(entity.isIgnorar());
 		result.setIncluir(entity.isIncluir());
@@ -82,6 +83,7 @@ public class CampoCrudServiceImpl extends CrudServiceImpl<Campo, CampoDto, Long>
 		entity.setDescripcion(model.getDescripcion());
 		entity.setTipoDato(model.getTipoDato());
 		entity.setNumeroCaracteres(model.getNumeroCaracteres());
+		entity.setPosicionInicial(model.getPosicionInicial());
 		entity.setTruncarCaracteres(model.isTruncarCaracteres());
 		entity.setIgnorar(model.isIgnorar());
 		entity.setIncluir(model.isIncluir());
@@ -46,6 +46,12 @@ public class TipoArchivoCrudServiceImpl extends CrudServiceImpl<TipoArchivo, Tip
 		result.setSeparadorRegistros(entity.getSeparadorRegistros());
 		result.setSeparadorCampos(entity.getSeparadorCampos());
 		result.setAplicacion(entity.getAplicacion());
+		result.setTamanoMuestraCharset(entity.getTamanoMuestraCharset());
+		result.setPatronEntradaComprimido(entity.getPatronEntradaComprimido());
+		result.setParalelismo(entity.getParalelismo());
+		result.setMaximoErrores(entity.getMaximoErrores());
+		result.setConvertirMayusculas(entity.getConvertirMayusculas());
+		result.setLimpiarFuncionT(entity.getLimpiarFuncionT());
 		result.setOrdinal(entity.getOrdinal());
 		result.setActivo(entity.isActivo());
 
@@ -68,6 +74,12 @@ public class TipoArchivoCrudServiceImpl extends CrudServiceImpl<TipoArchivo, Tip
 		entity.setSeparadorRegistros(model.getSeparadorRegistros());
 		entity.setSeparadorCampos(model.getSeparadorCampos());
 		entity.setAplicacion(model.getAplicacion());
+		entity.setTamanoMuestraCharset(model.getTamanoMuestraCharset());
+		entity.setPatronEntradaComprimido(model.getPatronEntradaComprimido());
+		entity.setParalelismo(model.getParalelismo());
+		entity.setMaximoErrores(model.getMaximoErrores());
+		entity.setConvertirMayusculas(model.getConvertirMayusculas());
+		entity.setLimpiarFuncionT(model.getLimpiarFuncionT());
 		entity.setOrdinal(model.getOrdinal());
 		entity.setActivo(model.isActivo());
 
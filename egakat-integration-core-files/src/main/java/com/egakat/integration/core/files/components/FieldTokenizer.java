@@ -0,0 +1,232 @@
+package com.egakat.integration.core.files.components;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+
+/**
+ * Divide las lineas en campos con la misma semántica de
+ * {@code String.split(regExpSeparadorCampos, -1)}, pero sin crear un arreglo de
+ * cadenas: el resultado son las posiciones de inicio y fin de cada campo, que
+ * se guardan en {@link RegistroDto#getPosicionesCampos()} para que las etapas
+ * siguientes no vuelvan a dividir la linea.
+ * 
+ * Los separadores de un solo caracter (tabulador, ";", "|", ...) se buscan
+ * directamente sin usar expresiones regulares. Las instancias se reutilizan por
+ * separador, por lo que cada expresión regular se compila una sola vez.
+ */
+public class FieldTokenizer {
+
+	private static final Map<String, FieldTokenizer> tokenizers = new ConcurrentHashMap<>();
+
+	private static final String METACARACTERES = "\\^$.|?*+()[]{}";
+
+	private final Pattern pattern;
+
+	private final char separador;
+
+	private FieldTokenizer(String regExpSeparadorCampos) {
+		int c = getSeparadorSimple(regExpSeparadorCampos);
+		if (c != -1) {
+			this.pattern = null;
+			this.separador = (char) c;
+		} else {
+			this.pattern = Pattern.compile(regExpSeparadorCampos);
+			this.separador = 0;
+		}
+	}
+
+	public static FieldTokenizer of(String regExpSeparadorCampos) {
+		return tokenizers.computeIfAbsent(regExpSeparadorCampos, FieldTokenizer::new);
+	}
+
+	/**
+	 * @return Las posiciones de los campos del registro, calculandolas solo si el
+	 *         registro aun no las tiene.
+	 */
+	public int[] getPosiciones(RegistroDto<?, ?> registro) {
+		int[] result = registro.getPosicionesCampos();
+		if (result == null) {
+			result = tokenize(registro.getLinea());
+			registro.setPosicionesCampos(result);
+		}
+		return result;
+	}
+
+	/**
+	 * @return Un arreglo con el inicio y el fin de cada campo: los del campo i
+	 *         estan en las posiciones 2i y 2i+1.
+	 */
+	public int[] tokenize(CharSequence linea) {
+		if (pattern == null) {
+			return tokenize(linea, separador);
+		}
+
+		int[] result = new int[16];
+		int n = 0;
+		int inicio = 0;
+
+		Matcher m = pattern.matcher(linea);
+		while (m.find()) {
+			if (m.end() == 0) {
+				continue;
+			}
+			result = agregar(result, n, inicio, m.start());
+			n += 2;
+			inicio = m.end();
+		}
+		result = agregar(result, n, inicio, linea.length());
+		n += 2;
+
+		return recortar(result, n);
+	}
+
+	private static int[] tokenize(CharSequence linea, char separador) {
+		int[] result = new int[16];
+		int n = 0;
+		int inicio = 0;
+
+		int length = linea.length();
+		for (int i = 0; i < length; i++) {
+			if (linea.charAt(i) == separador) {
+				result = agregar(result, n, inicio, i);
+				n += 2;
+				inicio = i + 1;
+			}
+		}
+		result = agregar(result, n, inicio, length);
+		n += 2;
+
+		return recortar(result, n);
+	}
+
+	public static int getNumeroCampos(int[] posiciones) {
+		return posiciones.length / 2;
+	}
+
+	/**
+	 * @return El valor del campo sin espacios al inicio ni al final, equivalente a
+	 *         {@code split(...)[i].trim()}.
+	 * @throws IndexOutOfBoundsException si la linea no tiene el campo i.
+	 */
+	public static String getCampo(String linea, int[] posiciones, int i) {
+		if (i < 0 || i >= getNumeroCampos(posiciones)) {
+			throw new IndexOutOfBoundsException(String.valueOf(i));
+		}
+
+		int desde = posiciones[2 * i];
+		int hasta = posiciones[2 * i + 1];
+		while (desde < hasta && linea.charAt(desde) <= ' ') {
+			desde++;
+		}
+		while (hasta > desde && linea.charAt(hasta - 1) <= ' ') {
+			hasta--;
+		}
+		return linea.substring(desde, hasta);
+	}
+
+	/**
+	 * Igual que {@code isVacia(tokenize(linea))}, pero sin calcular las posiciones
+	 * de los campos: se detiene en el primer caracter que no hace parte de un
+	 * separador.
+	 */
+	public boolean isVacia(CharSequence linea) {
+		if (pattern == null) {
+			for (int i = 0; i < linea.length(); i++) {
+				if (linea.charAt(i) != separador) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		int inicio = 0;
+		Matcher m = pattern.matcher(linea);
+		while (m.find()) {
+			if (m.end() == 0) {
+				continue;
+			}
+			if (m.start() != inicio) {
+				return false;
+			}
+			inicio = m.end();
+		}
+		return inicio == linea.length();
+	}
+
+	/**
+	 * @return true si todos los campos de la linea estan vacios, es decir, si la
+	 *         linea solo contiene separadores.
+	 */
+	public static boolean isVacia(int[] posiciones) {
+		for (int i = 0; i < posiciones.length; i += 2) {
+			if (posiciones[i] != posiciones[i + 1]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int[] agregar(int[] result, int n, int inicio, int fin) {
+		if (n + 2 > result.length) {
+			int[] copia = new int[result.length * 2];
+			System.arraycopy(result, 0, copia, 0, n);
+			result = copia;
+		}
+		result[n] = inicio;
+		result[n + 1] = fin;
+		return result;
+	}
+
+	private static int[] recortar(int[] result, int n) {
+		if (n == result.length) {
+			return result;
+		}
+		int[] copia = new int[n];
+		System.arraycopy(result, 0, copia, 0, n);
+		return copia;
+	}
+
+	/**
+	 * Reconoce las expresiones que equivalen a un unico caracter literal: "x",
+	 * "\x" y "[x]" o "[\x]", que es la forma en que se construyen los separadores
+	 * escapados.
+	 * 
+	 * @return El caracter, o -1 si la expresión no es un caracter literal.
+	 */
+	private static int getSeparadorSimple(String regExp) {
+		String s = regExp;
+		if (s.length() >= 3 && s.charAt(0) == '[' && s.charAt(s.length() - 1) == ']') {
+			s = s.substring(1, s.length() - 1);
+			if (s.length() == 1 && s.charAt(0) != '^' && s.charAt(0) != '\\') {
+				return s.charAt(0);
+			}
+		}
+
+		if (s.length() == 1 && METACARACTERES.indexOf(s.charAt(0)) == -1) {
+			return s.charAt(0);
+		}
+
+		if (s.length() == 2 && s.charAt(0) == '\\') {
+			char c = s.charAt(1);
+			switch (c) {
+			case 't':
+				return '\t';
+			case 'n':
+				return '\n';
+			case 'r':
+				return '\r';
+			case 'f':
+				return '\f';
+			default:
+				if (!Character.isLetterOrDigit(c)) {
+					return c;
+				}
+			}
+		}
+		return -1;
+	}
+}
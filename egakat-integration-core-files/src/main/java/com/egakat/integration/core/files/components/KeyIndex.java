@@ -0,0 +1,413 @@
+package com.egakat.integration.core.files.components;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import lombok.val;
+
+/**
+ * Indice de llaves compuestas para detectar valores duplicados sin guardar las
+ * llaves como cadenas. Cada llave se reduce a un hash de 128 bits que se guarda
+ * en una tabla de direccionamiento abierto sobre arreglos primitivos, junto con
+ * un valor entero que identifica el registro (su posición o número de linea).
+ * Los valores se deben agregar en orden creciente, de modo que el menor valor
+ * de cada llave corresponde a su primera aparición.
+ *
+ * Cuando el número de llaves en memoria supera {@link #getMaximoClavesEnMemoria()},
+ * el contenido de la tabla se escribe ordenado por hash en un archivo temporal y
+ * la tabla se vacia. Al consultar los resultados, los archivos se mezclan en
+ * orden para encontrar las llaves que se repiten entre ellos. Los duplicados
+ * dentro de una misma tabla se detectan al agregarlos.
+ */
+public class KeyIndex implements Closeable {
+
+	public static final int MAXIMO_CLAVES_EN_MEMORIA = 1 << 20;
+
+	private static final int CAPACIDAD_INICIAL = 1 << 10;
+
+	private static final int VACIO = -1;
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private static final long SEMILLA = 0x9e3779b97f4a7c15L;
+
+	private final int maximoClavesEnMemoria;
+
+	private long[] altos;
+
+	private long[] bajos;
+
+	private int[] valores;
+
+	private int size;
+
+	private final Enteros duplicados = new Enteros();
+
+	private final Enteros repetidos = new Enteros();
+
+	private final List<Path> volcados = new ArrayList<>();
+
+	private boolean consolidado;
+
+	public KeyIndex() {
+		this(MAXIMO_CLAVES_EN_MEMORIA);
+	}
+
+	public KeyIndex(int maximoClavesEnMemoria) {
+		this.maximoClavesEnMemoria = maximoClavesEnMemoria;
+		crearTabla(CAPACIDAD_INICIAL);
+	}
+
+	public int getMaximoClavesEnMemoria() {
+		return maximoClavesEnMemoria;
+	}
+
+	/**
+	 * Agrega la llave formada por los valores de los campos, en el orden dado. Un
+	 * valor null equivale a una cadena vacia.
+	 *
+	 * @return El valor con el que se agregó la llave por primera vez a la tabla en
+	 *         memoria, o -1 si la llave no estaba en la tabla.
+	 */
+	public int agregar(Map<String, String> datos, List<String> campos, int valor) {
+		long alto = FNV_OFFSET;
+		long bajo = SEMILLA;
+		for (int i = 0; i < campos.size(); i++) {
+			val s = datos.get(campos.get(i));
+			int n = s == null ? 0 : s.length();
+			for (int j = 0; j < n; j++) {
+				char c = s.charAt(j);
+				alto = (alto ^ c) * FNV_PRIME;
+				bajo = Long.rotateLeft(bajo ^ (c * SEMILLA), 31) * 5 + 0x52dce729;
+			}
+			// La longitud separa los campos, de modo que "a|bc" y "ab|c" no coinciden.
+			alto = (alto ^ (n + 0x10000)) * FNV_PRIME;
+			bajo = Long.rotateLeft(bajo ^ ((n + 0x10000) * SEMILLA), 31) * 5 + 0x52dce729;
+		}
+		return agregar(mezclar(alto), mezclar(bajo ^ alto), valor);
+	}
+
+	public int agregar(long alto, long bajo, int valor) {
+		if (valor < 0) {
+			throw new IllegalArgumentException("El valor asociado a la llave no puede ser negativo: " + valor);
+		}
+		consolidado = false;
+
+		int mascara = valores.length - 1;
+		int i = (int) bajo & mascara;
+		while (valores[i] != VACIO) {
+			if (altos[i] == alto && bajos[i] == bajo) {
+				int primero = valores[i];
+				duplicados.add(primero);
+				duplicados.add(valor);
+				repetidos.add(valor);
+				return primero;
+			}
+			i = (i + 1) & mascara;
+		}
+
+		altos[i] = alto;
+		bajos[i] = bajo;
+		valores[i] = valor;
+		size++;
+
+		if (size >= maximoClavesEnMemoria) {
+			volcar();
+		} else if (size * 2 > valores.length) {
+			redimensionar(valores.length * 2);
+		}
+		return VACIO;
+	}
+
+	/**
+	 * @return Los valores de todas las apariciones de las llaves que se repiten,
+	 *         incluida la primera, ordenados y sin repetir.
+	 */
+	public int[] getDuplicados() {
+		consolidar();
+		return duplicados.toSortedArray();
+	}
+
+	/**
+	 * @return Los valores de las apariciones de las llaves que se repiten, sin la
+	 *         primera, ordenados y sin repetir.
+	 */
+	public int[] getRepetidos() {
+		consolidar();
+		return repetidos.toSortedArray();
+	}
+
+	@Override
+	public void close() throws IOException {
+		for (val volcado : volcados) {
+			Files.deleteIfExists(volcado);
+		}
+		volcados.clear();
+	}
+
+	private void crearTabla(int capacidad) {
+		altos = new long[capacidad];
+		bajos = new long[capacidad];
+		valores = new int[capacidad];
+		Arrays.fill(valores, VACIO);
+		size = 0;
+	}
+
+	private void redimensionar(int capacidad) {
+		val a = altos;
+		val b = bajos;
+		val v = valores;
+		crearTabla(capacidad);
+
+		int mascara = capacidad - 1;
+		for (int j = 0; j < v.length; j++) {
+			if (v[j] != VACIO) {
+				int i = (int) b[j] & mascara;
+				while (valores[i] != VACIO) {
+					i = (i + 1) & mascara;
+				}
+				altos[i] = a[j];
+				bajos[i] = b[j];
+				valores[i] = v[j];
+				size++;
+			}
+		}
+	}
+
+	private void volcar() {
+		try {
+			volcados.add(escribir());
+		} catch (IOException e) {
+			throw new RuntimeException("No fue posible volcar a disco el indice de llaves", e);
+		}
+		crearTabla(valores.length);
+	}
+
+	/**
+	 * Escribe las entradas de la tabla ordenadas por hash.
+	 */
+	private Path escribir() throws IOException {
+		int n = compactar();
+		ordenar(0, n - 1);
+
+		val result = Files.createTempFile("egakat-llaves-", ".bin");
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(result), 64 * 1024))) {
+			for (int i = 0; i < n; i++) {
+				out.writeLong(altos[i]);
+				out.writeLong(bajos[i]);
+				out.writeInt(valores[i]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Mueve las entradas ocupadas al inicio de los arreglos. La tabla queda
+	 * inservible para búsquedas y debe recrearse despues.
+	 */
+	private int compactar() {
+		int n = 0;
+		for (int i = 0; i < valores.length; i++) {
+			if (valores[i] != VACIO) {
+				altos[n] = altos[i];
+				bajos[n] = bajos[i];
+				valores[n] = valores[i];
+				n++;
+			}
+		}
+		return n;
+	}
+
+	private void ordenar(int desde, int hasta) {
+		while (desde < hasta) {
+			int m = (desde + hasta) >>> 1;
+			long pa = altos[m];
+			long pb = bajos[m];
+			int i = desde;
+			int j = hasta;
+			while (i <= j) {
+				while (comparar(altos[i], bajos[i], pa, pb) < 0) {
+					i++;
+				}
+				while (comparar(altos[j], bajos[j], pa, pb) > 0) {
+					j--;
+				}
+				if (i <= j) {
+					intercambiar(i++, j--);
+				}
+			}
+			if (j - desde < hasta - i) {
+				ordenar(desde, j);
+				desde = i;
+			} else {
+				ordenar(i, hasta);
+				hasta = j;
+			}
+		}
+	}
+
+	private void intercambiar(int i, int j) {
+		long a = altos[i];
+		altos[i] = altos[j];
+		altos[j] = a;
+		long b = bajos[i];
+		bajos[i] = bajos[j];
+		bajos[j] = b;
+		int v = valores[i];
+		valores[i] = valores[j];
+		valores[j] = v;
+	}
+
+	private static int comparar(long a1, long b1, long a2, long b2) {
+		int result = Long.compare(a1, a2);
+		return result != 0 ? result : Long.compare(b1, b2);
+	}
+
+	/**
+	 * Mezcla los archivos volcados junto con el contenido actual de la tabla y
+	 * registra como duplicadas las llaves que aparecen en mas de uno de ellos.
+	 */
+	private void consolidar() {
+		if (consolidado || volcados.isEmpty()) {
+			consolidado = true;
+			return;
+		}
+
+		try {
+			volcados.add(escribir());
+			crearTabla(valores.length);
+
+			val cursores = new PriorityQueue<Cursor>((a, b) -> comparar(a.alto, a.bajo, b.alto, b.bajo));
+			try {
+				for (val volcado : volcados) {
+					val cursor = new Cursor(volcado);
+					if (cursor.siguiente()) {
+						cursores.add(cursor);
+					}
+				}
+
+				val grupo = new Enteros();
+				while (!cursores.isEmpty()) {
+					val cursor = cursores.poll();
+					long alto = cursor.alto;
+					long bajo = cursor.bajo;
+
+					grupo.clear();
+					grupo.add(cursor.valor);
+					avanzar(cursores, cursor);
+					while (!cursores.isEmpty() && cursores.peek().alto == alto && cursores.peek().bajo == bajo) {
+						val otro = cursores.poll();
+						grupo.add(otro.valor);
+						avanzar(cursores, otro);
+					}
+
+					if (grupo.size() > 1) {
+						val apariciones = grupo.toSortedArray();
+						duplicados.add(apariciones[0]);
+						for (int i = 1; i < apariciones.length; i++) {
+							duplicados.add(apariciones[i]);
+							repetidos.add(apariciones[i]);
+						}
+					}
+				}
+			} finally {
+				for (val cursor : cursores) {
+					cursor.close();
+				}
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("No fue posible consolidar el indice de llaves volcado a disco", e);
+		}
+
+		// Las entradas volcadas quedan en el ultimo archivo; una nueva consolidación
+		// debe volver a leerlas.
+		consolidado = true;
+	}
+
+	private static void avanzar(PriorityQueue<Cursor> cursores, Cursor cursor) throws IOException {
+		if (cursor.siguiente()) {
+			cursores.add(cursor);
+		} else {
+			cursor.close();
+		}
+	}
+
+	private static long mezclar(long h) {
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	private static class Cursor implements Closeable {
+		private final DataInputStream in;
+
+		private long alto;
+
+		private long bajo;
+
+		private int valor;
+
+		public Cursor(Path path) throws IOException {
+			this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024));
+		}
+
+		public boolean siguiente() throws IOException {
+			try {
+				alto = in.readLong();
+			} catch (EOFException e) {
+				return false;
+			}
+			bajo = in.readLong();
+			valor = in.readInt();
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+
+	private static class Enteros {
+		private int[] valores = new int[16];
+
+		private int size;
+
+		public void add(int valor) {
+			if (size == valores.length) {
+				valores = Arrays.copyOf(valores, size * 2);
+			}
+			valores[size++] = valor;
+		}
+
+		public int size() {
+			return size;
+		}
+
+		public void clear() {
+			size = 0;
+		}
+
+		public int[] toSortedArray() {
+			return Arrays.stream(valores, 0, size).sorted().distinct().toArray();
+		}
+	}
+}
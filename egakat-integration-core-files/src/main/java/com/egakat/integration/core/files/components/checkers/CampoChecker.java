@@ -2,8 +2,37 @@ package com.egakat.integration.core.files.components.checkers;
 
 import com.egakat.integration.config.archivos.dto.CampoDto;
 
+import lombok.val;
+
 public interface CampoChecker<T> {
-	public void check(CampoDto campo, T valor);
+
+	/**
+	 * Verifica el valor sin lanzar excepciones.
+	 * 
+	 * @return {@link ResultadoCheck#OK} si el valor cumple la restricción, o el
+	 *         error con los argumentos de su mensaje.
+	 */
+	public ResultadoCheck verificar(CampoDto campo, T valor);
+
+	/**
+	 * Igual que {@link #verificar(CampoDto, Object)}, pero lanza una
+	 * {@link IllegalArgumentException} con el mensaje del error.
+	 */
+	public default void check(CampoDto campo, T valor) {
+		val resultado = verificar(campo, valor);
+		if (!resultado.isOk()) {
+			throw new IllegalArgumentException(resultado.getMensaje());
+		}
+	}
 
 	public String getError();
+
+	/**
+	 * Indica si la restricción aplica al campo según su configuración. Los
+	 * verificadores que no aplican se omiten al compilar el
+	 * {@link PlanValidacion}.
+	 */
+	public default boolean isAplicable(CampoDto campo) {
+		return true;
+	}
 }
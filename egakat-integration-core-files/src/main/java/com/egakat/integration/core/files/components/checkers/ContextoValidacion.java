@@ -0,0 +1,44 @@
+package com.egakat.integration.core.files.components.checkers;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import lombok.Getter;
+
+/**
+ * Fecha y hora de referencia de una validación, tomadas una sola vez del reloj
+ * al inicio del procesamiento de un archivo. Los limites relativos a la fecha
+ * actual, como el número de dias de
+ * {@link com.egakat.integration.core.files.components.checkers.types.DateMinNumeroDeDiasChecker},
+ * se calculan con estos valores, de modo que no cambian durante el archivo aunque
+ * el procesamiento pase la medianoche, y se pueden fijar con un {@link Clock}
+ * fijo.
+ */
+@Getter
+public final class ContextoValidacion {
+
+	private final Clock reloj;
+
+	private final LocalDateTime fechaHora;
+
+	private final LocalDate fecha;
+
+	private final LocalTime hora;
+
+	private ContextoValidacion(Clock reloj) {
+		this.reloj = Clock.fixed(reloj.instant(), reloj.getZone());
+		this.fechaHora = LocalDateTime.now(this.reloj);
+		this.fecha = fechaHora.toLocalDate();
+		this.hora = fechaHora.toLocalTime();
+	}
+
+	public static ContextoValidacion of(Clock reloj) {
+		return new ContextoValidacion(reloj);
+	}
+
+	public static ContextoValidacion actual() {
+		return of(Clock.systemDefaultZone());
+	}
+}
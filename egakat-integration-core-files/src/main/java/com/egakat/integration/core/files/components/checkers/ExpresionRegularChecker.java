@@ -6,23 +6,40 @@ import com.egakat.integration.config.archivos.dto.CampoDto;
 
 public class ExpresionRegularChecker implements CampoChecker<String> {
 
+	private RegexMatcher matcher;
+
+	/**
+	 * Compila la expresión regular del campo con un {@link RegexMatcher}. La
+	 * instancia queda asociada al campo con el que se compiló.
+	 */
+	public ExpresionRegularChecker compilar(CampoDto campo) {
+		this.matcher = campo.getPattern() != null ? RegexMatcher.of(campo.getPattern()) : null;
+		return this;
+	}
+
 	@Override
-	public void check(CampoDto campo, String valor) {
+	public ResultadoCheck verificar(CampoDto campo, String valor) {
 		if (StringUtils.hasLength(valor)) {
 			if (campo.getPattern() != null) {
-				if (!campo.getPattern().matcher(valor).matches()) {
+				boolean cumple = matcher != null ? matcher.matches(valor) : campo.getPattern().matcher(valor).matches();
+				if (!cumple) {
 					// @formatter:off
-					String message = String.format(
+					return ResultadoCheck.error(
 							getError(),
 							campo.getCodigo(), 
 							valor, 
 							campo.getNombre(), 
 							campo.getExpresionRegular());
 					// @formatter:on
-					throw new RuntimeException(message);
 				}
 			}
 		}
+		return ResultadoCheck.OK;
+	}
+
+	@Override
+	public boolean isAplicable(CampoDto campo) {
+		return campo.getPattern() != null;
 	}
 
 	@Override
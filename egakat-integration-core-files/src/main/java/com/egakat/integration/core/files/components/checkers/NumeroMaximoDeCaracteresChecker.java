@@ -6,11 +6,11 @@ import com.egakat.integration.config.archivos.dto.CampoDto;
 
 public class NumeroMaximoDeCaracteresChecker implements CampoChecker<String> {
 	@Override
-	public void check(CampoDto campo, String valor) {
+	public ResultadoCheck verificar(CampoDto campo, String valor) {
 		if (StringUtils.hasLength(valor)) {
 			if (valor.length() > campo.getNumeroCaracteres()) {
 			// @formatter:off
-			String message = String.format(
+			return ResultadoCheck.error(
 					getError(),
 					campo.getCodigo(), 
 					valor, 
@@ -18,9 +18,9 @@ public class NumeroMaximoDeCaracteresChecker implements CampoChecker<String> {
 					valor.length(), 
 					campo.getNumeroCaracteres());
 			// @formatter:on
-				throw new RuntimeException(message);
 			}
 		}
+		return ResultadoCheck.OK;
 	}
 
 	@Override
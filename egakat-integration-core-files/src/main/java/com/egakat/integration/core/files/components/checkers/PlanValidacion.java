@@ -0,0 +1,86 @@
+package com.egakat.integration.core.files.components.checkers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.egakat.integration.config.archivos.dto.CampoDto;
+
+import lombok.val;
+
+/**
+ * Plan de validación compilado una sola vez para la lista de campos de un tipo
+ * de archivo. Por cada campo guarda los verificadores que aplican según su
+ * configuración, ya construidos, de modo que validar un registro no crea
+ * verificadores ni listas por valor. Los campos ignorados no tienen
+ * verificadores.
+ * 
+ * Las columnas conservan el orden de la lista de campos con la que se compiló
+ * el plan.
+ */
+public class PlanValidacion {
+
+	private final List<CampoDto> campos;
+
+	private final CampoChecker<String>[][] checkers;
+
+	@SuppressWarnings("unchecked")
+	private PlanValidacion(List<CampoDto> campos, ContextoValidacion contexto) {
+		this.campos = Collections.unmodifiableList(new ArrayList<>(campos));
+		this.checkers = new CampoChecker[campos.size()][];
+
+		for (int i = 0; i < campos.size(); i++) {
+			this.checkers[i] = compilar(campos.get(i), contexto);
+		}
+	}
+
+	public static PlanValidacion compilar(List<CampoDto> campos) {
+		return compilar(campos, ContextoValidacion.actual());
+	}
+
+	/**
+	 * Los limites relativos a la fecha actual se calculan una sola vez por campo
+	 * con la fecha y hora del contexto.
+	 */
+	public static PlanValidacion compilar(List<CampoDto> campos, ContextoValidacion contexto) {
+		return new PlanValidacion(campos, contexto);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static CampoChecker<String>[] compilar(CampoDto campo, ContextoValidacion contexto) {
+		val result = new ArrayList<CampoChecker<String>>();
+
+		if (!campo.isIgnorar()) {
+			result.add(new NumeroMaximoDeCaracteresChecker());
+
+			val tipoDato = TipoDeDatoChecker.getChecker(campo.getTipoDato());
+			if (tipoDato != null) {
+				result.add(tipoDato.compilar(campo, contexto));
+			}
+
+			agregar(result, new ValorObligatorioChecker(), campo);
+			agregar(result, new ExpresionRegularChecker().compilar(campo), campo);
+			agregar(result, new ValoresPermitidosChecker().compilar(campo), campo);
+		}
+
+		return result.toArray(new CampoChecker[result.size()]);
+	}
+
+	private static void agregar(List<CampoChecker<String>> checkers, CampoChecker<String> checker, CampoDto campo) {
+		if (checker.isAplicable(campo)) {
+			checkers.add(checker);
+		}
+	}
+
+	public int size() {
+		return campos.size();
+	}
+
+	public CampoDto getCampo(int posicion) {
+		return campos.get(posicion);
+	}
+
+	public CampoChecker<String>[] getCheckers(int posicion) {
+		return checkers[posicion];
+	}
+}
@@ -0,0 +1,307 @@
+package com.egakat.integration.core.files.components.checkers;
+
+import java.util.regex.Pattern;
+
+/**
+ * Expresión regular de un campo, compilada una sola vez por archivo. Cuando la
+ * expresión es una secuencia de caracteres literales y clases ASCII simples,
+ * como \d, \w, [0-9] o [A-Za-z0-9], con cuantificadores ?, *, + o {m,n}, se
+ * calculan la longitud minima y maxima, el prefijo literal y los caracteres que
+ * puede contener el valor, y los valores que no cumplen se descartan sin
+ * ejecutar la expresión. Estas condiciones solo descartan valores; nunca deciden
+ * que un valor coincide.
+ *
+ * Los valores que las cumplen se verifican con
+ * {@link Pattern#matcher(CharSequence)}, y los ultimos resultados se guardan en
+ * un cache pequeño, de modo que los valores que se repiten en la columna no
+ * vuelven a ejecutar la expresión. Se puede usar desde varios hilos a la vez.
+ */
+public final class RegexMatcher {
+
+	private static final int TAMANO_CACHE = 64;
+
+	private final Pattern pattern;
+
+	private final Prefiltro prefiltro;
+
+	private final Entrada[] cache = new Entrada[TAMANO_CACHE];
+
+	private RegexMatcher(Pattern pattern) {
+		this.pattern = pattern;
+		this.prefiltro = pattern.flags() == 0 ? Prefiltro.compilar(pattern.pattern()) : null;
+	}
+
+	public static RegexMatcher of(Pattern pattern) {
+		return new RegexMatcher(pattern);
+	}
+
+	/**
+	 * Igual que {@link java.util.regex.Matcher#matches()}.
+	 */
+	public boolean matches(String valor) {
+		if (prefiltro != null && !prefiltro.admite(valor)) {
+			return false;
+		}
+
+		int i = valor.hashCode() & (TAMANO_CACHE - 1);
+		Entrada entrada = cache[i];
+		if (entrada != null && entrada.valor.equals(valor)) {
+			return entrada.resultado;
+		}
+
+		boolean result = pattern.matcher(valor).matches();
+
+		// Las entradas son inmutables; si dos hilos escriben la misma posición
+		// queda cualquiera de las dos.
+		cache[i] = new Entrada(valor, result);
+		return result;
+	}
+
+	private static class Entrada {
+		private final String valor;
+
+		private final boolean resultado;
+
+		public Entrada(String valor, boolean resultado) {
+			this.valor = valor;
+			this.resultado = resultado;
+		}
+	}
+
+	/**
+	 * Condiciones que cumple todo valor que coincide con la expresión.
+	 */
+	private static class Prefiltro {
+		private static final String LITERALES = " _-/:,;@#%=";
+
+		private static final String ESCAPES_LITERALES = ".-_/:$^";
+
+		private final int minimo;
+
+		private final int maximo;
+
+		private final String prefijo;
+
+		// Un bit por cada caracter ASCII permitido
+		private final long[] caracteres;
+
+		private Prefiltro(int minimo, int maximo, String prefijo, long[] caracteres) {
+			this.minimo = minimo;
+			this.maximo = maximo;
+			this.prefijo = prefijo;
+			this.caracteres = caracteres;
+		}
+
+		/**
+		 * @return El prefiltro, o null si la expresión tiene grupos, alternativas,
+		 *         anclas intermedias u otras construcciones que no se analizan.
+		 */
+		public static Prefiltro compilar(String regex) {
+			int i = 0;
+			int n = regex.length();
+			if (i < n && regex.charAt(i) == '^') {
+				i++;
+			}
+			if (n > i && regex.charAt(n - 1) == '$') {
+				if (n - 2 >= i && regex.charAt(n - 2) == '\\') {
+					return null;
+				}
+				n--;
+			}
+
+			long minimo = 0;
+			long maximo = 0;
+			long[] caracteres = new long[2];
+			StringBuilder prefijo = new StringBuilder();
+			boolean literal = true;
+
+			while (i < n) {
+				long[] clase = new long[2];
+				char c = regex.charAt(i);
+				boolean esLiteral = false;
+				char simbolo = c;
+				if (c == '\\') {
+					if (i + 1 >= n) {
+						return null;
+					}
+					char e = regex.charAt(i + 1);
+					if (!agregarEscape(clase, e)) {
+						return null;
+					}
+					esLiteral = ESCAPES_LITERALES.indexOf(e) != -1;
+					simbolo = e;
+					i += 2;
+				} else if (c == '[') {
+					i = leerClase(regex, i + 1, n, clase);
+					if (i == -1) {
+						return null;
+					}
+				} else if (isLiteral(c)) {
+					agregar(clase, c);
+					esLiteral = true;
+					i++;
+				} else {
+					return null;
+				}
+
+				int min = 1;
+				int max = 1;
+				boolean cuantificador = false;
+				if (i < n) {
+					char q = regex.charAt(i);
+					if (q == '?' || q == '*' || q == '+') {
+						min = q == '+' ? 1 : 0;
+						max = q == '?' ? 1 : Integer.MAX_VALUE;
+						cuantificador = true;
+						i++;
+					} else if (q == '{') {
+						int fin = regex.indexOf('}', i);
+						if (fin == -1 || fin >= n) {
+							return null;
+						}
+						int[] rango = leerRango(regex.substring(i + 1, fin));
+						if (rango == null) {
+							return null;
+						}
+						min = rango[0];
+						max = rango[1];
+						cuantificador = true;
+						i = fin + 1;
+					}
+					// Los cuantificadores perezosos y posesivos no se analizan
+					if (cuantificador && i < n && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+						return null;
+					}
+				}
+
+				if (literal && esLiteral && !cuantificador) {
+					prefijo.append(simbolo);
+				} else {
+					literal = false;
+				}
+
+				minimo = Math.min(minimo + min, Integer.MAX_VALUE);
+				maximo = max == Integer.MAX_VALUE ? Integer.MAX_VALUE : Math.min(maximo + max, Integer.MAX_VALUE);
+				caracteres[0] |= clase[0];
+				caracteres[1] |= clase[1];
+			}
+
+			return new Prefiltro((int) minimo, (int) maximo, prefijo.toString(), caracteres);
+		}
+
+		public boolean admite(String valor) {
+			int n = valor.length();
+			if (n < minimo || n > maximo || !valor.startsWith(prefijo)) {
+				return false;
+			}
+			for (int i = prefijo.length(); i < n; i++) {
+				char c = valor.charAt(i);
+				if (c >= 128 || (caracteres[c >> 6] & (1L << (c & 63))) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @return La posición siguiente al cierre de la clase, o -1 si la clase
+		 *         tiene negaciones, intersecciones, clases anidadas o caracteres que
+		 *         no se analizan.
+		 */
+		private static int leerClase(String regex, int i, int n, long[] clase) {
+			boolean primero = true;
+			while (i < n) {
+				char c = regex.charAt(i);
+				if (c == ']' && !primero) {
+					return i + 1;
+				}
+				if (primero && (c == '^' || c == ']')) {
+					return -1;
+				}
+				primero = false;
+
+				if (c == '\\') {
+					if (i + 1 >= n || !agregarEscape(clase, regex.charAt(i + 1))) {
+						return -1;
+					}
+					i += 2;
+				} else if (i + 2 < n && regex.charAt(i + 1) == '-' && regex.charAt(i + 2) != ']') {
+					char hasta = regex.charAt(i + 2);
+					if (!isAlfanumerico(c) || !isAlfanumerico(hasta) || c > hasta) {
+						return -1;
+					}
+					for (char r = c; r <= hasta; r++) {
+						agregar(clase, r);
+					}
+					i += 3;
+				} else if (c == '-' ? regex.charAt(i - 1) == '[' || (i + 1 < n && regex.charAt(i + 1) == ']')
+						: isLiteral(c) || c == '.') {
+					agregar(clase, c);
+					i++;
+				} else {
+					return -1;
+				}
+			}
+			return -1;
+		}
+
+		private static int[] leerRango(String rango) {
+			int coma = rango.indexOf(',');
+			String desde = coma == -1 ? rango : rango.substring(0, coma);
+			String hasta = coma == -1 ? rango : rango.substring(coma + 1);
+			if (!isNumero(desde) || !(hasta.isEmpty() && coma != -1 || isNumero(hasta))) {
+				return null;
+			}
+
+			int min = Integer.parseInt(desde);
+			int max = hasta.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(hasta);
+			return min <= max ? new int[] { min, max } : null;
+		}
+
+		private static boolean isNumero(String valor) {
+			if (valor.isEmpty() || valor.length() > 9) {
+				return false;
+			}
+			for (int i = 0; i < valor.length(); i++) {
+				if (valor.charAt(i) < '0' || valor.charAt(i) > '9') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static boolean agregarEscape(long[] clase, char e) {
+			if (e == 'd') {
+				agregarRango(clase, '0', '9');
+			} else if (e == 'w') {
+				agregarRango(clase, '0', '9');
+				agregarRango(clase, 'A', 'Z');
+				agregarRango(clase, 'a', 'z');
+				agregar(clase, '_');
+			} else if (ESCAPES_LITERALES.indexOf(e) != -1) {
+				agregar(clase, e);
+			} else {
+				return false;
+			}
+			return true;
+		}
+
+		private static boolean isLiteral(char c) {
+			return isAlfanumerico(c) || LITERALES.indexOf(c) != -1;
+		}
+
+		private static boolean isAlfanumerico(char c) {
+			return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+		}
+
+		private static void agregarRango(long[] clase, char desde, char hasta) {
+			for (char c = desde; c <= hasta; c++) {
+				agregar(clase, c);
+			}
+		}
+
+		private static void agregar(long[] clase, char c) {
+			clase[c >> 6] |= 1L << (c & 63);
+		}
+	}
+}
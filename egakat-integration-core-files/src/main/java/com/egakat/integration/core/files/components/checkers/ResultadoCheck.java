@@ -0,0 +1,107 @@
+package com.egakat.integration.core.files.components.checkers;
+
+import java.util.List;
+
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+
+import lombok.val;
+
+/**
+ * Resultado de verificar un valor con un {@link CampoChecker}. Un error guarda
+ * el formato del mensaje, que es el {@link CampoChecker#getError()} del
+ * verificador que falló, y los argumentos del mensaje; el texto se genera solo
+ * al registrar los errores, de modo que los errores que no se reportan, por
+ * ejemplo al agotar el presupuesto de errores, no pagan el costo de
+ * formatearlo.
+ */
+public final class ResultadoCheck {
+
+	public static final ResultadoCheck OK = new ResultadoCheck(null, null);
+
+	private final String formato;
+
+	private final Object[] argumentos;
+
+	private ResultadoCheck(String formato, Object[] argumentos) {
+		this.formato = formato;
+		this.argumentos = argumentos;
+	}
+
+	public static ResultadoCheck error(String formato, Object... argumentos) {
+		return new ResultadoCheck(formato, argumentos);
+	}
+
+	public boolean isOk() {
+		return formato == null;
+	}
+
+	public String getFormato() {
+		return formato;
+	}
+
+	public Object[] getArgumentos() {
+		return argumentos;
+	}
+
+	public String getMensaje() {
+		if (isOk()) {
+			return null;
+		}
+		return String.format(formato, argumentos);
+	}
+
+	/**
+	 * @return Un error de archivo cuyo mensaje se formatea con
+	 *         {@link #formatear(List)}.
+	 */
+	public ArchivoErrorDto toArchivoError(long archivoId, int numeroLinea, String datos) {
+		return new ArchivoErrorDiferido(this, archivoId, numeroLinea, datos);
+	}
+
+	/**
+	 * Genera y fija el mensaje de los errores creados con
+	 * {@link #toArchivoError(long, int, String)}. Se invoca una vez, antes de
+	 * registrar los errores; los demas errores de la lista no cambian.
+	 */
+	public static void formatear(List<ArchivoErrorDto> errores) {
+		for (val e : errores) {
+			if (e instanceof ArchivoErrorDiferido) {
+				((ArchivoErrorDiferido) e).formatear();
+			}
+		}
+	}
+
+	private static class ArchivoErrorDiferido extends ArchivoErrorDto {
+		private ResultadoCheck resultado;
+
+		public ArchivoErrorDiferido(ResultadoCheck resultado, long archivoId, int numeroLinea, String datos) {
+			this.resultado = resultado;
+			setIdArchivo(archivoId);
+			setNumeroLinea(numeroLinea);
+			setDatos(datos);
+			setCodigo("");
+			setCreadoPor("");
+			setModificadoPor("");
+		}
+
+		public void formatear() {
+			if (resultado != null) {
+				setMensaje(resultado.getMensaje());
+			}
+		}
+
+		@Override
+		public String getMensaje() {
+			if (resultado != null) {
+				return resultado.getMensaje();
+			}
+			return super.getMensaje();
+		}
+
+		@Override
+		public void setMensaje(String mensaje) {
+			resultado = null;
+			super.setMensaje(mensaje);
+		}
+	}
+}
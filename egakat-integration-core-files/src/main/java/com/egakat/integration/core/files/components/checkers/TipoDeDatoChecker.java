@@ -3,37 +3,32 @@ package com.egakat.integration.core.files.components.checkers;
 import org.springframework.util.StringUtils;
 
 import com.egakat.integration.config.archivos.dto.CampoDto;
+import com.egakat.integration.config.archivos.enums.DatoType;
+import com.egakat.integration.core.files.components.checkers.types.DataTypeChecker;
 import com.egakat.integration.core.files.components.checkers.types.DateChecker;
 import com.egakat.integration.core.files.components.checkers.types.DateTimeChecker;
 import com.egakat.integration.core.files.components.checkers.types.DecimalChecker;
 import com.egakat.integration.core.files.components.checkers.types.IntegerChecker;
 import com.egakat.integration.core.files.components.checkers.types.TimeChecker;
 
+import lombok.val;
+
 public class TipoDeDatoChecker implements CampoChecker<String> {
 
 	@Override
-	public void check(CampoDto campo, String valor) {
+	public ResultadoCheck verificar(CampoDto campo, String valor) {
 		if (StringUtils.hasLength(valor)) {
-			switch (campo.getTipoDato()) {
-			case INTEGER:
-				(new IntegerChecker()).check(campo, valor);
-				break;
-			case DECIMAL:
-				(new DecimalChecker()).check(campo, valor);
-				break;
-			case DATETIME:
-				(new DateTimeChecker()).check(campo, valor);
-				break;
-			case DATE:
-				(new DateChecker()).check(campo, valor);
-				break;
-			case TIME:
-				(new TimeChecker()).check(campo, valor);
-				break;
-			default:
-				break;
+			val checker = getChecker(campo.getTipoDato());
+			if (checker != null) {
+				return checker.verificar(campo, valor);
 			}
 		}
+		return ResultadoCheck.OK;
+	}
+
+	@Override
+	public boolean isAplicable(CampoDto campo) {
+		return getChecker(campo.getTipoDato()) != null;
 	}
 
 	@Override
@@ -41,4 +36,20 @@ public class TipoDeDatoChecker implements CampoChecker<String> {
 		return "";
 	}
 
+	public static DataTypeChecker<?> getChecker(DatoType tipoDato) {
+		switch (tipoDato) {
+		case INTEGER:
+			return new IntegerChecker();
+		case DECIMAL:
+			return new DecimalChecker();
+		case DATETIME:
+			return new DateTimeChecker();
+		case DATE:
+			return new DateChecker();
+		case TIME:
+			return new TimeChecker();
+		default:
+			return null;
+		}
+	}
 }
@@ -7,16 +7,21 @@ import com.egakat.integration.config.archivos.dto.CampoDto;
 public class ValorObligatorioChecker implements CampoChecker<String> {
 
 	@Override
-	public void check(CampoDto campo, String valor) {
+	public ResultadoCheck verificar(CampoDto campo, String valor) {
 		if (!StringUtils.hasLength(valor) && campo.isObligatorioEstructura()) {
 			// @formatter:off
-			String message = String.format(
+			return ResultadoCheck.error(
 					getError(),
 					campo.getCodigo(), 
 					campo.getNombre());
 			// @formatter:on
-			throw new RuntimeException(message);
 		}
+		return ResultadoCheck.OK;
+	}
+
+	@Override
+	public boolean isAplicable(CampoDto campo) {
+		return campo.isObligatorioEstructura();
 	}
 
 	@Override
@@ -7,24 +7,43 @@ import com.egakat.integration.config.archivos.dto.CampoDto;
 import lombok.val;
 
 public class ValoresPermitidosChecker implements CampoChecker<String> {
+
+	private ValueSetMatcher matcher;
+
+	/**
+	 * Compila los valores permitidos del campo con un {@link ValueSetMatcher}. La
+	 * instancia queda asociada al campo con el que se compiló.
+	 */
+	public ValoresPermitidosChecker compilar(CampoDto campo) {
+		val valoresPermitidos = campo.valoresPermitidos();
+		this.matcher = valoresPermitidos != null ? ValueSetMatcher.of(valoresPermitidos) : null;
+		return this;
+	}
+
 	@Override
-	public void check(CampoDto campo, String valor) {
+	public ResultadoCheck verificar(CampoDto campo, String valor) {
 		if (StringUtils.hasLength(valor)) {
 			val valoresPermitidos = campo.valoresPermitidos();
 			if (valoresPermitidos != null) {
-				if (!valoresPermitidos.contains(valor)) {
+				boolean permitido = matcher != null ? matcher.contains(valor) : valoresPermitidos.contains(valor);
+				if (!permitido) {
 					// @formatter:off
-					String message = String.format(
+					return ResultadoCheck.error(
 							getError(),
 							campo.getCodigo(), 
 							valor, 
 							campo.getNombre(), 
 							campo.getValoresPermitidos());
 					// @formatter:on
-					throw new RuntimeException(message);
 				}
 			}
 		}
+		return ResultadoCheck.OK;
+	}
+
+	@Override
+	public boolean isAplicable(CampoDto campo) {
+		return campo.valoresPermitidos() != null;
 	}
 
 	@Override
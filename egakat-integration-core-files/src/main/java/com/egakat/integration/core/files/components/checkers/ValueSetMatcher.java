@@ -0,0 +1,78 @@
+package com.egakat.integration.core.files.components.checkers;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Valores permitidos de un campo, compilados una sola vez por archivo. Antes de
+ * buscar el valor se descartan los que tienen una longitud que ningún valor
+ * permitido tiene; los conjuntos pequeños, como los de tipo enumeración, se
+ * recorren comparando directamente sin calcular el hash del valor. Se puede
+ * usar desde varios hilos a la vez.
+ */
+public final class ValueSetMatcher {
+
+	private static final int MAXIMO_VALORES_LINEAL = 8;
+
+	private static final int LONGITUD_MAXIMA_MASCARA = 63;
+
+	private final String[] valores;
+
+	private final Set<String> conjunto;
+
+	private final int minimo;
+
+	private final int maximo;
+
+	// Un bit por cada longitud permitida; las longitudes desde 63 comparten el
+	// ultimo bit
+	private final long longitudes;
+
+	private ValueSetMatcher(Set<String> valores) {
+		int min = Integer.MAX_VALUE;
+		int max = -1;
+		long mascara = 0;
+		for (String valor : valores) {
+			min = Math.min(min, valor.length());
+			max = Math.max(max, valor.length());
+			mascara |= getBitLongitud(valor.length());
+		}
+
+		this.minimo = min;
+		this.maximo = max;
+		this.longitudes = mascara;
+
+		if (valores.size() <= MAXIMO_VALORES_LINEAL) {
+			this.valores = valores.toArray(new String[valores.size()]);
+			this.conjunto = null;
+		} else {
+			this.valores = null;
+			this.conjunto = new HashSet<>(valores);
+		}
+	}
+
+	public static ValueSetMatcher of(Set<String> valores) {
+		return new ValueSetMatcher(valores);
+	}
+
+	public boolean contains(String valor) {
+		int n = valor.length();
+		if (n < minimo || n > maximo || (longitudes & getBitLongitud(n)) == 0) {
+			return false;
+		}
+
+		if (conjunto != null) {
+			return conjunto.contains(valor);
+		}
+		for (int i = 0; i < valores.length; i++) {
+			if (valores[i].length() == n && valores[i].equals(valor)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static long getBitLongitud(int longitud) {
+		return 1L << Math.min(longitud, LONGITUD_MAXIMA_MASCARA);
+	}
+}
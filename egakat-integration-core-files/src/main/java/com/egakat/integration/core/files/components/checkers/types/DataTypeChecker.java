@@ -8,35 +8,95 @@ import org.springframework.util.StringUtils;
 import com.egakat.integration.config.archivos.dto.CampoDto;
 import com.egakat.integration.config.archivos.enums.DatoType;
 import com.egakat.integration.core.files.components.checkers.CampoChecker;
+import com.egakat.integration.core.files.components.checkers.ContextoValidacion;
+import com.egakat.integration.core.files.components.checkers.ResultadoCheck;
 
 import lombok.val;
 
 public abstract class DataTypeChecker<T> implements CampoChecker<String> {
+
+	private List<CampoChecker<T>> aplicables;
+
+	private ContextoValidacion contexto;
+
+	public DataTypeChecker<T> compilar(CampoDto campo) {
+		return compilar(campo, ContextoValidacion.actual());
+	}
+
+	/**
+	 * Deja preparados los verificadores de limites que aplican al campo, con sus
+	 * limites ya calculados con la fecha y hora del contexto, para que
+	 * {@link #check(CampoDto, String)} no los construya ni los calcule en cada
+	 * valor. La instancia queda asociada al campo con el que se compiló.
+	 */
+	public DataTypeChecker<T> compilar(CampoDto campo, ContextoValidacion contexto) {
+		this.contexto = contexto;
+
+		val result = new ArrayList<CampoChecker<T>>();
+		for (val checker : getCheckers()) {
+			compilar(checker, campo, contexto);
+			if (checker.isAplicable(campo)) {
+				result.add(checker);
+			}
+		}
+		this.aplicables = result;
+		return this;
+	}
+
+	private static void compilar(CampoChecker<?> checker, CampoDto campo, ContextoValidacion contexto) {
+		if (checker instanceof MinMaxChecker) {
+			((MinMaxChecker<?>) checker).compilar(campo, contexto);
+		}
+	}
+
+	/**
+	 * Sin compilar, cada consulta toma la fecha y hora actuales.
+	 */
+	protected ContextoValidacion getContexto() {
+		return contexto != null ? contexto : ContextoValidacion.actual();
+	}
+
 	@Override
-	public void check(CampoDto campo, String valor) {
+	public ResultadoCheck verificar(CampoDto campo, String valor) {
 		if (StringUtils.hasLength(valor)) {
-			T valorTest = null;
-			try {
-				valorTest = parse(campo, valor);
-			} catch (IllegalArgumentException e) {
-				String mensaje = gen(campo, valor);
-				throw new IllegalArgumentException(mensaje, e);
+			val valorTest = intentarParse(campo, valor);
+			if (valorTest == null) {
+				// @formatter:off
+				return ResultadoCheck.error(
+						getError(),
+						campo.getCodigo(),
+						valor,
+						campo.getNombre(),
+						getTipoDato(),
+						new EjemplosValidos(this, campo));
+				// @formatter:on
 			}
-			val checkers = getCheckers();
-			for (CampoChecker<T> checker : checkers) {
-				checker.check(campo, valorTest);
+
+			val checkers = aplicables != null ? aplicables : getCheckers();
+			for (int i = 0; i < checkers.size(); i++) {
+				val resultado = checkers.get(i).verificar(campo, valorTest);
+				if (!resultado.isOk()) {
+					return resultado;
+				}
 			}
 		}
+		return ResultadoCheck.OK;
 	}
 
 	abstract protected T parse(CampoDto campo, String valor);
 
-	protected String gen(CampoDto campo, String valor) {
-		String ejemplos = getEjemplosValidos(campo);
-		String mensaje = String.format(getError(), campo.getCodigo(), valor, campo.getNombre(), getTipoDato(),
-				ejemplos);
-		return mensaje;
-
+	/**
+	 * @return El valor convertido, o null si el valor no es valido para el tipo
+	 *         de dato. Los tipos que pueden validar el valor sin excepciones
+	 *         sobrescriben este método; por defecto se invoca
+	 *         {@link #parse(CampoDto, String)}.
+	 */
+	protected T intentarParse(CampoDto campo, String valor) {
+		try {
+			return parse(campo, valor);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
 	}
 
 	@Override
@@ -52,4 +112,24 @@ public abstract class DataTypeChecker<T> implements CampoChecker<String> {
 		List<CampoChecker<T>> result = new ArrayList<>();
 		return result;
 	}
+
+	/**
+	 * Argumento del mensaje de error que genera los ejemplos validos solo cuando
+	 * se formatea el mensaje.
+	 */
+	private static class EjemplosValidos {
+		private final DataTypeChecker<?> checker;
+
+		private final CampoDto campo;
+
+		public EjemplosValidos(DataTypeChecker<?> checker, CampoDto campo) {
+			this.checker = checker;
+			this.campo = campo;
+		}
+
+		@Override
+		public String toString() {
+			return checker.getEjemplosValidos(campo);
+		}
+	}
 }
\ No newline at end of file
@@ -1,9 +1,7 @@
 package com.egakat.integration.core.files.components.checkers.types;
 
-import java.time.LocalDate;
 import java.time.chrono.ChronoLocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.List;
 
 import com.egakat.integration.config.archivos.dto.CampoDto;
@@ -16,13 +14,16 @@ public class DateChecker extends DataTypeChecker<ChronoLocalDate> {
 
 	@Override
 	protected ChronoLocalDate parse(CampoDto campo, String valor) {
-		DateTimeFormatter formatter = campo.getDateTimeFormatter();
-		try {
-			val result = LocalDate.parse(valor, formatter);
-			return result;
-		} catch (DateTimeParseException e) {
-			throw new IllegalArgumentException(e.getMessage(), e);
+		val result = intentarParse(campo, valor);
+		if (result == null) {
+			throw new IllegalArgumentException("Text '" + valor + "' could not be parsed");
 		}
+		return result;
+	}
+
+	@Override
+	protected ChronoLocalDate intentarParse(CampoDto campo, String valor) {
+		return campo.getDateTimeParser().parseLocalDate(valor);
 	}
 
 	@Override
@@ -39,7 +40,7 @@ public class DateChecker extends DataTypeChecker<ChronoLocalDate> {
 	protected String getEjemplosValidos(CampoDto campo) {
 		DateTimeFormatter formatter = campo.getDateTimeFormatter();
 		StringBuilder sb = new StringBuilder();
-		sb.append(formatter.format(LocalDate.now()));
+		sb.append(formatter.format(getContexto().getFecha()));
 		return sb.toString();
 	}
 
@@ -10,7 +10,7 @@ public class DateMaxNumeroDeDiasChecker extends MaxChecker<ChronoLocalDate> {
 	protected LocalDate getValorLimite(CampoDto campo) {
 		LocalDate result = null;
 		if (campo.getValorEnteroMax() != null) {
-			result = LocalDate.now().plusDays(campo.getValorEnteroMax());
+			result = getContexto().getFecha().plusDays(campo.getValorEnteroMax());
 		}
 		return result;
 	}
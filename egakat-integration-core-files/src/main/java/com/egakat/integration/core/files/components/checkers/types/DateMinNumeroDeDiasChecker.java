@@ -10,7 +10,7 @@ public class DateMinNumeroDeDiasChecker extends MinChecker<ChronoLocalDate> {
 	protected LocalDate getValorLimite(CampoDto campo) {
 		LocalDate result = null;
 		if (campo.getValorEnteroMin() != null) {
-			result = LocalDate.now().plusDays(campo.getValorEnteroMin());
+			result = getContexto().getFecha().plusDays(campo.getValorEnteroMin());
 		}
 		return result;
 	}
@@ -1,10 +1,7 @@
 package com.egakat.integration.core.files.components.checkers.types;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.chrono.ChronoLocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.List;
 
 import com.egakat.integration.config.archivos.dto.CampoDto;
@@ -16,21 +13,16 @@ import lombok.val;
 public class DateTimeChecker extends DataTypeChecker<ChronoLocalDateTime<?>> {
 	@Override
 	protected ChronoLocalDateTime<?> parse(CampoDto campo, String valor) {
-		DateTimeFormatter formatter = campo.getDateTimeFormatter();
-		try {
-			val temporalAccessor = formatter.parseBest(valor, LocalDateTime::from, LocalDate::from);
-
-			LocalDateTime result;
-			if (temporalAccessor instanceof LocalDateTime) {
-				result = (LocalDateTime) temporalAccessor;
-			} else {
-				result = ((LocalDate) temporalAccessor).atStartOfDay();
-			}
-			return result;
-
-		} catch (DateTimeParseException e) {
-			throw new IllegalArgumentException(e.getMessage(), e);
+		val result = intentarParse(campo, valor);
+		if (result == null) {
+			throw new IllegalArgumentException("Text '" + valor + "' could not be parsed");
 		}
+		return result;
+	}
+
+	@Override
+	protected ChronoLocalDateTime<?> intentarParse(CampoDto campo, String valor) {
+		return campo.getDateTimeParser().parseLocalDateTime(valor);
 	}
 
 	@Override
@@ -47,7 +39,7 @@ public class DateTimeChecker extends DataTypeChecker<ChronoLocalDateTime<?>> {
 	protected String getEjemplosValidos(CampoDto campo) {
 		DateTimeFormatter formatter = campo.getDateTimeFormatter();
 		StringBuilder sb = new StringBuilder();
-		sb.append(formatter.format(LocalDateTime.now()));
+		sb.append(formatter.format(getContexto().getFechaHora()));
 		return sb.toString();
 	}
 
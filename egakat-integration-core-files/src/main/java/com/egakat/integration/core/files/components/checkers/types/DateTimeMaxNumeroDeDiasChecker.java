@@ -1,6 +1,5 @@
 package com.egakat.integration.core.files.components.checkers.types;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.chrono.ChronoLocalDateTime;
 
@@ -11,7 +10,7 @@ public class DateTimeMaxNumeroDeDiasChecker extends MaxChecker<ChronoLocalDateTi
 	protected ChronoLocalDateTime<?> getValorLimite(CampoDto campo) {
 		LocalDateTime result = null;
 		if (campo.getValorEnteroMax() != null) {
-			result = LocalDate.now().atStartOfDay().plusDays(campo.getValorEnteroMax());
+			result = getContexto().getFecha().atStartOfDay().plusDays(campo.getValorEnteroMax());
 		}
 		return result;
 	}
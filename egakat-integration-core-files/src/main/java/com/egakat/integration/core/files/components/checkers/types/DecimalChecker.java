@@ -2,7 +2,6 @@ package com.egakat.integration.core.files.components.checkers.types;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
-import java.text.ParseException;
 import java.util.List;
 
 import com.egakat.integration.config.archivos.dto.CampoDto;
@@ -14,13 +13,20 @@ import lombok.val;
 public class DecimalChecker extends DataTypeChecker<BigDecimal> {
 	@Override
 	protected BigDecimal parse(CampoDto campo, String valor) {
-		DecimalFormat formatter = campo.getDecimalFormat();
-		try {
-			val result = (BigDecimal) formatter.parse(valor);
-			return result;
-		} catch (ParseException e) {
-			throw new IllegalArgumentException(e);
+		val result = intentarParse(campo, valor);
+		if (result == null) {
+			throw new IllegalArgumentException("Unparseable number: \"" + valor + "\"");
 		}
+		return result;
+	}
+
+	/**
+	 * Igual que {@link #parse(CampoDto, String)}, pero sin lanzar una excepción
+	 * por cada valor invalido.
+	 */
+	@Override
+	protected BigDecimal intentarParse(CampoDto campo, String valor) {
+		return campo.getDecimalParser().parse(valor);
 	}
 
 	@Override
@@ -19,6 +19,43 @@ public class IntegerChecker extends DataTypeChecker<Long> {
 		}
 	}
 
+	/**
+	 * Acepta los mismos valores que {@link Long#parseLong(String)}, sin lanzar una
+	 * excepción por cada valor invalido.
+	 */
+	@Override
+	protected Long intentarParse(CampoDto campo, String valor) {
+		int n = valor.length();
+		int i = 0;
+		boolean negativo = false;
+
+		char c = valor.charAt(0);
+		if (c == '-' || c == '+') {
+			negativo = c == '-';
+			i++;
+			if (n == 1) {
+				return null;
+			}
+		}
+
+		// Se acumula en negativo para admitir Long.MIN_VALUE
+		long limite = negativo ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long minimo = limite / 10;
+		long result = 0;
+		for (; i < n; i++) {
+			int digito = Character.digit(valor.charAt(i), 10);
+			if (digito < 0 || result < minimo) {
+				return null;
+			}
+			result *= 10;
+			if (result < limite + digito) {
+				return null;
+			}
+			result -= digito;
+		}
+		return negativo ? result : -result;
+	}
+
 	@Override
 	protected String getEjemplosValidos(CampoDto campo) {
 		StringBuilder sb = new StringBuilder();
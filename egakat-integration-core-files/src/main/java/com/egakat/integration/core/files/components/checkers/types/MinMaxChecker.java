@@ -2,18 +2,50 @@ package com.egakat.integration.core.files.components.checkers.types;
 
 import com.egakat.integration.config.archivos.dto.CampoDto;
 import com.egakat.integration.core.files.components.checkers.CampoChecker;
+import com.egakat.integration.core.files.components.checkers.ContextoValidacion;
+import com.egakat.integration.core.files.components.checkers.ResultadoCheck;
 
 public abstract class MinMaxChecker<T extends Comparable<T>> implements CampoChecker<T> {
+
+	private ContextoValidacion contexto;
+
+	private T limite;
+
+	private boolean compilado;
+
+	/**
+	 * Calcula una sola vez el limite del campo, con la fecha y hora del contexto
+	 * para los limites relativos a la fecha actual. La instancia queda asociada
+	 * al campo con el que se compiló.
+	 */
+	public MinMaxChecker<T> compilar(CampoDto campo, ContextoValidacion contexto) {
+		this.contexto = contexto;
+		this.limite = getValorLimite(campo);
+		this.compilado = true;
+		return this;
+	}
+
 	@Override
-	public void check(CampoDto campo, T valor) {
-		T valorLimite = getValorLimite(campo);
+	public ResultadoCheck verificar(CampoDto campo, T valor) {
+		T valorLimite = compilado ? limite : getValorLimite(campo);
 		if (valorLimite != null) {
 			if (comparar(valor, valorLimite)) {
-				String mensaje = String.format(getError(), campo.getCodigo(), valor.toString(), campo.getNombre(),
-						valorLimite.toString());
-				throw new IllegalArgumentException(mensaje);
+				return ResultadoCheck.error(getError(), campo.getCodigo(), valor, campo.getNombre(), valorLimite);
 			}
 		}
+		return ResultadoCheck.OK;
+	}
+
+	@Override
+	public boolean isAplicable(CampoDto campo) {
+		return (compilado ? limite : getValorLimite(campo)) != null;
+	}
+
+	/**
+	 * Sin compilar, cada consulta toma la fecha y hora actuales.
+	 */
+	protected ContextoValidacion getContexto() {
+		return contexto != null ? contexto : ContextoValidacion.actual();
 	}
 
 	abstract protected T getValorLimite(CampoDto campo);
@@ -2,7 +2,6 @@ package com.egakat.integration.core.files.components.checkers.types;
 
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.List;
 
 import com.egakat.integration.config.archivos.dto.CampoDto;
@@ -14,13 +13,16 @@ import lombok.val;
 public class TimeChecker extends DataTypeChecker<LocalTime> {
 	@Override
 	protected LocalTime parse(CampoDto campo, String valor) {
-		DateTimeFormatter formatter = campo.getDateTimeFormatter();
-		try {
-			val result = LocalTime.parse(valor, formatter);
-			return result;
-		} catch (DateTimeParseException e) {
-			throw new IllegalArgumentException(e.getMessage(), e);
+		val result = intentarParse(campo, valor);
+		if (result == null) {
+			throw new IllegalArgumentException("Text '" + valor + "' could not be parsed");
 		}
+		return result;
+	}
+
+	@Override
+	protected LocalTime intentarParse(CampoDto campo, String valor) {
+		return campo.getDateTimeParser().parseLocalTime(valor);
 	}
 
 	@Override
@@ -37,7 +39,7 @@ public class TimeChecker extends DataTypeChecker<LocalTime> {
 	protected String getEjemplosValidos(CampoDto campo) {
 		DateTimeFormatter formatter = campo.getDateTimeFormatter();
 		StringBuilder sb = new StringBuilder();
-		sb.append(formatter.format(LocalTime.now()));
+		sb.append(formatter.format(getContexto().getHora()));
 		return sb.toString();
 	}
 
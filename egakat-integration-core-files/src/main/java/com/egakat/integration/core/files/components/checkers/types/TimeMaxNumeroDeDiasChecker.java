@@ -12,7 +12,7 @@ public class TimeMaxNumeroDeDiasChecker extends MaxChecker<LocalTime> {
 		LocalTime result = null;
 		val minutos = campo.getValorEnteroMax();
 		if (minutos != null) {
-			result = LocalTime.now().plusMinutes(minutos);
+			result = getContexto().getHora().plusMinutes(minutos);
 		}
 		return result;
 	}
@@ -12,7 +12,7 @@ public class TimeMinNumeroDeDiasChecker extends MinChecker<LocalTime> {
 		LocalTime result = null;
 		val minutos = campo.getValorEnteroMin();
 		if (minutos != null) {
-			result = LocalTime.now().plusMinutes(minutos);
+			result = getContexto().getHora().plusMinutes(minutos);
 		}
 		return result;
 	}
@@ -0,0 +1,163 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import static com.egakat.integration.core.files.components.Constantes.COLECCION_NO_PUEDE_ESTAR_VACIA;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.DatosRegistro;
+import com.egakat.integration.commons.archivos.dto.IndiceCampos;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.config.archivos.dto.CampoDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.Constantes;
+import com.egakat.integration.core.files.exceptions.EtlRuntimeException;
+
+import lombok.val;
+
+/**
+ * Divide en campos los registros de archivos de ancho fijo. La posición de cada
+ * campo se toma de {@link CampoDto#getPosicionInicial()} (base 1) y su longitud
+ * de {@link CampoDto#getNumeroCaracteres()}. Si un campo no tiene posición
+ * inicial, inicia donde termina el campo anterior según el ordinal.
+ * 
+ * Los valores se extraen directamente de la linea, sin dividirla previamente en
+ * un arreglo. Los campos que se encuentran mas alla del final de la linea se
+ * asumen vacios.
+ */
+public class CamposAnchoFijoSplitterDecorator<T extends IdentifiedDomainObject<ID>, ID extends Serializable>
+		extends Decorator<T, ID> {
+
+	public CamposAnchoFijoSplitterDecorator(Decorator<T, ID> inner) {
+		super(inner);
+	}
+
+	@Override
+	public EtlRequestDto<T, ID> transformar(EtlRequestDto<T, ID> request) {
+		val result = super.transformar(request);
+		Validate.notNull(result, Constantes.VALOR_NO_PUEDE_SER_NULO + "result");
+
+		val campos = result.getCamposNoIncluidos();
+		Validate.notEmpty(campos, COLECCION_NO_PUEDE_ESTAR_VACIA + "campos");
+
+		val registros = result.getRegistros();
+		val errores = new ArrayList<ArchivoErrorDto>();
+
+		if (!registros.isEmpty()) {
+			val posiciones = getPosiciones(campos);
+			val indice = getIndiceCampos(result.getCampos());
+
+			long archivo = result.getArchivo().getId();
+
+			for (val registro : registros) {
+				try {
+					mapRegistro(registro, posiciones, indice);
+				} catch (RuntimeException e) {
+					val error = ArchivoErrorDto.error(archivo, e, registro.getNumeroLinea(), registro.getLinea());
+					errores.add(error);
+				}
+			}
+
+			if (!errores.isEmpty()) {
+				throw new EtlRuntimeException(archivo, "Se detectaron errores al dividir el archivo en columnas", errores);
+			}
+		}
+
+		return result;
+	}
+
+	void mapRegistro(RegistroDto<T, ID> registro, List<Posicion> posiciones, IndiceCampos indice) {
+		val linea = registro.getLinea();
+		val datos = new DatosRegistro(indice);
+
+		for (val posicion : posiciones) {
+			val campo = posicion.campo;
+			String value = getValorCampo(linea, posicion.inicio, posicion.fin);
+
+			if (value.isEmpty() && !campo.getValorPredeterminado().isEmpty()) {
+				value = campo.getValorPredeterminado();
+			}
+
+			datos.put(campo.getCodigo(), value);
+		}
+
+		registro.setDatos(datos);
+	}
+
+	/**
+	 * Ajusta los limites del campo sobre los espacios en blanco de los extremos y
+	 * extrae el valor con un unico substring.
+	 */
+	private String getValorCampo(String linea, int inicio, int fin) {
+		int n = linea.length();
+		if (inicio >= n) {
+			return "";
+		}
+
+		int hasta = Math.min(fin, n);
+		int desde = inicio;
+		while (desde < hasta && linea.charAt(desde) <= ' ') {
+			desde++;
+		}
+		while (hasta > desde && linea.charAt(hasta - 1) <= ' ') {
+			hasta--;
+		}
+		return linea.substring(desde, hasta);
+	}
+
+	List<Posicion> getPosiciones(List<CampoDto> campos) {
+		// @formatter:off
+		val ordenados = campos
+				.stream()
+				.sorted(Comparator.comparingInt(CampoDto::getOrdinal))
+				.collect(Collectors.toList());
+		// @formatter:on
+
+		val result = new ArrayList<Posicion>();
+		val errores = new ArrayList<String>();
+
+		int siguiente = 0;
+		for (val campo : ordenados) {
+			int inicio = siguiente;
+			if (campo.getPosicionInicial() != null) {
+				inicio = campo.getPosicionInicial() - 1;
+			}
+
+			int longitud = campo.getNumeroCaracteres();
+			if (inicio < 0 || longitud <= 0) {
+				errores.add(campo.getCodigo());
+				continue;
+			}
+
+			result.add(new Posicion(campo, inicio, inicio + longitud));
+			siguiente = inicio + longitud;
+		}
+
+		if (!errores.isEmpty()) {
+			String mensaje = "error columnas: Las siguientes columnas no tienen una posición o longitud valida: %s";
+			throw new RuntimeException(String.format(mensaje, StringUtils.join(errores, ",")));
+		}
+
+		return result;
+	}
+
+	static class Posicion {
+		private final CampoDto campo;
+		private final int inicio;
+		private final int fin;
+
+		public Posicion(CampoDto campo, int inicio, int fin) {
+			this.campo = campo;
+			this.inicio = inicio;
+			this.fin = fin;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import static com.egakat.integration.core.files.components.Constantes.COLECCION_NO_PUEDE_ESTAR_VACIA;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.IndiceCampos;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.decorators.CamposAnchoFijoSplitterDecorator.Posicion;
+
+import lombok.val;
+
+/**
+ * Los archivos de ancho fijo no tienen encabezado, por lo que el primer
+ * registro se procesa como un registro de datos.
+ */
+public class CamposAnchoFijoSplitterStage<T extends IdentifiedDomainObject<ID>, ID extends Serializable>
+		extends Stage<T, ID> {
+
+	private final CamposAnchoFijoSplitterDecorator<T, ID> splitter = new CamposAnchoFijoSplitterDecorator<>(null);
+
+	private List<Posicion> posiciones;
+
+	private IndiceCampos indice;
+
+	public CamposAnchoFijoSplitterStage(Stage<T, ID> next) {
+		super(next);
+	}
+
+	@Override
+	public void inicio(EtlRequestDto<T, ID> request, List<ArchivoErrorDto> errores) {
+		val campos = request.getCamposNoIncluidos();
+		Validate.notEmpty(campos, COLECCION_NO_PUEDE_ESTAR_VACIA + "campos");
+
+		posiciones = splitter.getPosiciones(campos);
+		indice = Decorator.getIndiceCampos(request.getCampos());
+		super.inicio(request, errores);
+	}
+
+	@Override
+	public void encabezado(RegistroDto<T, ID> registro) {
+		procesar(registro);
+	}
+
+	@Override
+	public void procesar(RegistroDto<T, ID> registro) {
+		try {
+			splitter.mapRegistro(registro, posiciones, indice);
+		} catch (RuntimeException e) {
+			error(registro, e);
+			return;
+		}
+		super.procesar(registro);
+	}
+}
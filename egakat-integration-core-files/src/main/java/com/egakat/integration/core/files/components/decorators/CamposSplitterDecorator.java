@@ -14,10 +14,13 @@ import org.apache.commons.lang3.Validate;
 
 import com.egakat.core.domain.IdentifiedDomainObject;
 import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.DatosRegistro;
+import com.egakat.integration.commons.archivos.dto.IndiceCampos;
 import com.egakat.integration.commons.archivos.dto.RegistroDto;
 import com.egakat.integration.config.archivos.dto.CampoDto;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.Constantes;
+import com.egakat.integration.core.files.components.FieldTokenizer;
 import com.egakat.integration.core.files.exceptions.EtlRuntimeException;
 
 import lombok.val;
@@ -44,20 +47,28 @@ public class CamposSplitterDecorator<T extends IdentifiedDomainObject<ID>, ID ex
 		val errores = new ArrayList<ArchivoErrorDto>();
 		
 		if (!registros.isEmpty()) {
-			val mapping = getMapping(registros.get(0), campos, regExpSeparadorCampos);
+			val tokenizer = FieldTokenizer.of(regExpSeparadorCampos);
+			val mapping = getMapping(registros.get(0), campos, tokenizer);
+			val indice = getIndiceCampos(result.getCampos());
 
 			long archivo = result.getArchivo().getId();
+			val presupuesto = PresupuestoErrores.of(result);
 
 			for (int i = 1; i < registros.size(); i++) {
 				val registro = registros.get(i);
 
 				try {
-					val list = mapRegistro(archivo, registro, campos, mapping, regExpSeparadorCampos);
+					val list = mapRegistro(archivo, registro, campos, mapping, tokenizer, indice);
 					errores.addAll(list);
 				} catch (RuntimeException e) {
 					val error = ArchivoErrorDto.error(archivo, e, registro.getNumeroLinea(), registro.getLinea());
 					errores.add(error);
 				}
+
+				if (presupuesto.isAgotado(errores.size())) {
+					presupuesto.resumir(errores, archivo, registro.getNumeroLinea(), registros.size() - i - 1);
+					break;
+				}
 			}
 
 			if (!errores.isEmpty()) {
@@ -70,18 +81,19 @@ public class CamposSplitterDecorator<T extends IdentifiedDomainObject<ID>, ID ex
 		return result;
 	}
 
-	private List<ArchivoErrorDto> mapRegistro(long archivoId, RegistroDto<T, ID> registro, List<CampoDto> campos,
-			Map<String, Integer> mapping, String regExpSeparadorCampos) {
+	List<ArchivoErrorDto> mapRegistro(long archivoId, RegistroDto<T, ID> registro, List<CampoDto> campos,
+			Map<String, Integer> mapping, FieldTokenizer tokenizer, IndiceCampos indice) {
 
 		val result = new ArrayList<ArchivoErrorDto>();
 
 		try {
-			val datos = new HashMap<String, String>();
-			val linea = registro.getLinea().split(regExpSeparadorCampos, -1);
+			val datos = new DatosRegistro(indice);
+			val linea = registro.getLinea();
+			val posiciones = tokenizer.getPosiciones(registro);
 
 			for (val campo : campos) {
 				try {
-					mapCampo(datos, linea, campo, mapping);
+					mapCampo(datos, linea, posiciones, campo, mapping);
 				} catch (RuntimeException e) {
 
 					String format = "Ocurrio el siguiente error al leer el campo %s en la posición %d:";
@@ -100,8 +112,7 @@ public class CamposSplitterDecorator<T extends IdentifiedDomainObject<ID>, ID ex
 				}
 			}
 
-			registro.getDatos().clear();
-			registro.getDatos().putAll(datos);
+			registro.setDatos(datos);
 		} catch (RuntimeException e) {
 			val error = ArchivoErrorDto.error(archivoId, e, registro.getNumeroLinea(), registro.getLinea());
 			result.add(error);
@@ -110,9 +121,10 @@ public class CamposSplitterDecorator<T extends IdentifiedDomainObject<ID>, ID ex
 		return result;
 	}
 
-	private void mapCampo(Map<String, String> datos, String[] linea, CampoDto campo, Map<String, Integer> mapping) {
+	private void mapCampo(Map<String, String> datos, String linea, int[] posiciones, CampoDto campo,
+			Map<String, Integer> mapping) {
 		String key = campo.getCodigo();
-		String value = getValorCampo(linea, key, mapping);
+		String value = getValorCampo(linea, posiciones, key, mapping);
 
 		if (value.isEmpty() && !campo.getValorPredeterminado().isEmpty()) {
 			value = campo.getValorPredeterminado();
@@ -127,17 +139,18 @@ public class CamposSplitterDecorator<T extends IdentifiedDomainObject<ID>, ID ex
 		datos.put(key, value);
 	}
 
-	private String getValorCampo(String[] datos, String key, Map<String, Integer> mapping) {
-		return datos[mapping.get(key)].trim();
+	private String getValorCampo(String linea, int[] posiciones, String key, Map<String, Integer> mapping) {
+		return FieldTokenizer.getCampo(linea, posiciones, mapping.get(key));
 	}
 
-	private Map<String, Integer> getMapping(RegistroDto<T, ID> registro, List<CampoDto> campos, String separador) {
+	Map<String, Integer> getMapping(RegistroDto<T, ID> registro, List<CampoDto> campos, FieldTokenizer tokenizer) {
 		Map<String, Integer> result = new HashMap<>();
 		List<String> errores = new ArrayList<>();
 
-		String[] datos = registro.getLinea().split(separador, -1);
+		val posiciones = tokenizer.getPosiciones(registro);
+		String[] datos = new String[FieldTokenizer.getNumeroCampos(posiciones)];
 		for (int i = 0; i < datos.length; i++) {
-			datos[i] = datos[i].trim();
+			datos[i] = FieldTokenizer.getCampo(registro.getLinea(), posiciones, i);
 		}
 
 		for (CampoDto campo : campos) {
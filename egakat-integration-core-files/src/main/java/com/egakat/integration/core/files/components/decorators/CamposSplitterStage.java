@@ -0,0 +1,75 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import static com.egakat.integration.core.files.components.Constantes.COLECCION_NO_PUEDE_ESTAR_VACIA;
+import static com.egakat.integration.core.files.components.Constantes.VALOR_NO_PUEDE_SER_UNA_CADENA_VACIA;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.IndiceCampos;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.config.archivos.dto.CampoDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.FieldTokenizer;
+
+import lombok.val;
+
+/**
+ * Ubica las columnas a partir del encabezado y divide en campos cada registro
+ * siguiente. El encabezado no continua a las etapas siguientes.
+ */
+public class CamposSplitterStage<T extends IdentifiedDomainObject<ID>, ID extends Serializable>
+		extends Stage<T, ID> {
+
+	private final CamposSplitterDecorator<T, ID> splitter = new CamposSplitterDecorator<>(null);
+
+	private List<CampoDto> campos;
+
+	private FieldTokenizer tokenizer;
+
+	private Map<String, Integer> mapping;
+
+	private IndiceCampos indice;
+
+	public CamposSplitterStage(Stage<T, ID> next) {
+		super(next);
+	}
+
+	@Override
+	public void inicio(EtlRequestDto<T, ID> request, List<ArchivoErrorDto> errores) {
+		campos = request.getCamposNoIncluidos();
+		Validate.notEmpty(campos, COLECCION_NO_PUEDE_ESTAR_VACIA + "campos");
+
+		val regExpSeparadorCampos = request.getRegExpSeparadorCampos();
+		Validate.notEmpty(regExpSeparadorCampos, VALOR_NO_PUEDE_SER_UNA_CADENA_VACIA + "regExpSeparadorCampos");
+		tokenizer = FieldTokenizer.of(regExpSeparadorCampos);
+		indice = Decorator.getIndiceCampos(request.getCampos());
+
+		super.inicio(request, errores);
+	}
+
+	@Override
+	public void encabezado(RegistroDto<T, ID> registro) {
+		mapping = splitter.getMapping(registro, campos, tokenizer);
+	}
+
+	@Override
+	public void procesar(RegistroDto<T, ID> registro) {
+		try {
+			val list = splitter.mapRegistro(getArchivoId(), registro, campos, mapping, tokenizer, indice);
+			if (!list.isEmpty()) {
+				getErrores().addAll(list);
+				return;
+			}
+		} catch (RuntimeException e) {
+			error(registro, e);
+			return;
+		}
+		super.procesar(registro);
+	}
+}
@@ -0,0 +1,74 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.egakat.integration.commons.archivos.domain.Registro;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.commons.archivos.repository.RegistroRepository;
+
+import lombok.Getter;
+
+/**
+ * Inserta las entidades por lotes a medida que llegan, de modo que en memoria
+ * solo permanece el lote en curso. Una vez se reporta un error en el archivo
+ * deja de insertar, ya que la transacción será revertida.
+ */
+public class CargarStage<T extends Registro> extends Stage<T, Long> {
+
+	private final RegistroRepository<T> repository;
+
+	private final int tamanoLote;
+
+	private final Runnable liberar;
+
+	private final List<T> lote;
+
+	@Getter
+	private int total = 0;
+
+	/**
+	 * @param liberar Se ejecuta despues de insertar cada lote, para liberar las
+	 *                entidades ya insertadas del contexto de persistencia.
+	 */
+	public CargarStage(RegistroRepository<T> repository, int tamanoLote, Runnable liberar) {
+		super();
+		this.repository = repository;
+		this.tamanoLote = tamanoLote;
+		this.liberar = liberar;
+		this.lote = new ArrayList<>(tamanoLote);
+	}
+
+	@Override
+	public void procesar(RegistroDto<T, Long> registro) {
+		if (!getErrores().isEmpty()) {
+			lote.clear();
+			return;
+		}
+
+		lote.add(registro.getEntidad());
+		if (lote.size() >= tamanoLote) {
+			guardar();
+		}
+	}
+
+	@Override
+	public void fin() {
+		if (getErrores().isEmpty()) {
+			guardar();
+		}
+	}
+
+	private void guardar() {
+		if (lote.isEmpty()) {
+			return;
+		}
+
+		repository.saveAll(lote);
+		repository.flush();
+		liberar.run();
+
+		total += lote.size();
+		lote.clear();
+	}
+}
@@ -13,6 +13,7 @@ import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
 import com.egakat.integration.commons.archivos.dto.RegistroDto;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.Constantes;
+import com.egakat.integration.core.files.components.FieldTokenizer;
 import com.egakat.integration.core.files.exceptions.EtlRuntimeException;
 
 import lombok.val;
@@ -37,10 +38,11 @@ public class CheckNumeroDeColumnasDecorator<T extends IdentifiedDomainObject<ID>
 
 		if (!registros.isEmpty()) {
 			long archivo = result.getArchivo().getId();
-			val linea = registros.get(0).getLinea().split(regExpSeparadorCampos, -1);
-			int numeroColumnas = linea.length;
+			val tokenizer = FieldTokenizer.of(regExpSeparadorCampos);
+			int numeroColumnas = FieldTokenizer.getNumeroCampos(tokenizer.getPosiciones(registros.get(0)));
 
-			val list = checkNumeroColumnas(archivo, registros, numeroColumnas, regExpSeparadorCampos);
+			val presupuesto = PresupuestoErrores.of(result);
+			val list = checkNumeroColumnas(archivo, registros, numeroColumnas, tokenizer, presupuesto);
 			errores.addAll(list);
 			
 			if (!errores.isEmpty()) {
@@ -52,18 +54,23 @@ public class CheckNumeroDeColumnasDecorator<T extends IdentifiedDomainObject<ID>
 	}
 
 	private List<ArchivoErrorDto> checkNumeroColumnas(long archivoId, List<RegistroDto<T, ID>> registros,
-			int numeroColumnas, String regExpSeparadorCampos) {
+			int numeroColumnas, FieldTokenizer tokenizer, PresupuestoErrores presupuesto) {
 		val result = new ArrayList<ArchivoErrorDto>();
 
-		for (val registro : registros) {
-			val valores = registro.getLinea().split(regExpSeparadorCampos, -1);
-			int n = valores.length;
+		for (int i = 0; i < registros.size(); i++) {
+			val registro = registros.get(i);
+			int n = FieldTokenizer.getNumeroCampos(tokenizer.getPosiciones(registro));
 
 			if (n != numeroColumnas) {
 				val format = "error número de columnas: Se esperaban %d columnas, pero el registro contiene %d";
 				val mensaje = String.format(format, numeroColumnas, n);
 				val error = ArchivoErrorDto.error(archivoId, mensaje, registro.getNumeroLinea(), registro.getLinea());
 				result.add(error);
+
+				if (presupuesto.isAgotado(result.size())) {
+					presupuesto.resumir(result, archivoId, registro.getNumeroLinea(), registros.size() - i - 1);
+					break;
+				}
 			}
 		}
 
@@ -0,0 +1,53 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import static com.egakat.integration.core.files.components.Constantes.VALOR_NO_PUEDE_SER_UNA_CADENA_VACIA;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.FieldTokenizer;
+
+public class CheckNumeroDeColumnasStage<T extends IdentifiedDomainObject<ID>, ID extends Serializable>
+		extends Stage<T, ID> {
+
+	private FieldTokenizer tokenizer;
+
+	private int numeroColumnas;
+
+	public CheckNumeroDeColumnasStage(Stage<T, ID> next) {
+		super(next);
+	}
+
+	@Override
+	public void inicio(EtlRequestDto<T, ID> request, List<ArchivoErrorDto> errores) {
+		String regExpSeparadorCampos = request.getRegExpSeparadorCampos();
+		Validate.notEmpty(regExpSeparadorCampos, VALOR_NO_PUEDE_SER_UNA_CADENA_VACIA + "regExpSeparadorCampos");
+
+		tokenizer = FieldTokenizer.of(regExpSeparadorCampos);
+		super.inicio(request, errores);
+	}
+
+	@Override
+	public void encabezado(RegistroDto<T, ID> registro) {
+		numeroColumnas = FieldTokenizer.getNumeroCampos(tokenizer.getPosiciones(registro));
+		super.encabezado(registro);
+	}
+
+	@Override
+	public void procesar(RegistroDto<T, ID> registro) {
+		int n = FieldTokenizer.getNumeroCampos(tokenizer.getPosiciones(registro));
+
+		if (n != numeroColumnas) {
+			String format = "error número de columnas: Se esperaban %d columnas, pero el registro contiene %d";
+			error(registro, String.format(format, numeroColumnas, n));
+			return;
+		}
+		super.procesar(registro);
+	}
+}
@@ -1,8 +1,8 @@
 package com.egakat.integration.core.files.components.decorators;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 import org.apache.commons.lang3.Validate;
@@ -13,6 +13,7 @@ import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
 import com.egakat.integration.commons.archivos.dto.RegistroDto;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.Constantes;
+import com.egakat.integration.core.files.components.KeyIndex;
 import com.egakat.integration.core.files.exceptions.EtlRuntimeException;
 
 import lombok.val;
@@ -57,44 +58,27 @@ public class CheckRegistrosDuplicadosDecorator<T extends IdentifiedDomainObject<
 	private List<ArchivoErrorDto> checkValoresDuplicados(long archivoId, List<RegistroDto<T, ID>> registros,
 			List<String> camposUnicos) {
 		val result = new ArrayList<ArchivoErrorDto>();
-		val map = new HashMap<String, List<RegistroDto<T, ID>>>();
 
 		if (!camposUnicos.isEmpty()) {
-			for (val registro : registros) {
-				String key = getKey(registro, camposUnicos);
+			try (KeyIndex index = new KeyIndex()) {
+				for (int i = 0; i < registros.size(); i++) {
+					index.agregar(registros.get(i).getDatos(), camposUnicos, i);
+				}
 
-				if (!map.containsKey(key)) {
-					map.put(key, new ArrayList<>());
+				val mensaje = getMensajeValoresDuplicados(camposUnicos);
+				for (int i : index.getDuplicados()) {
+					val registro = registros.get(i);
+					result.add(ArchivoErrorDto.error(archivoId, mensaje, registro.getNumeroLinea(), registro.getLinea()));
 				}
-				map.get(key).add(registro);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
 			}
-
-			val mensaje = getMensajeValoresDuplicados(camposUnicos);
-
-			// @formatter:off
-			map.values().stream()
-			.filter(value -> value.size() > 1)
-			.forEach(value -> {
-				value.forEach(registro ->{
-					result.add(ArchivoErrorDto.error(archivoId, mensaje, registro.getNumeroLinea(),registro.getLinea()));	
-				});
-			});
-			// @formatter:on
 		}
 
 		return result;
 	}
 
-	private String getKey(RegistroDto<T, ID> registro, List<String> campos) {
-		val sb = new StringBuilder();
-		for (String campo : campos) {
-			sb.append(registro.getDatos().get(campo)).append("|");
-		}
-		val result = sb.toString();
-		return result;
-	}
-
-	private String getMensajeValoresDuplicados(final List<String> campos) {
+	String getMensajeValoresDuplicados(final List<String> campos) {
 		String mensaje;
 		mensaje = "error llave duplicada: Los valores de los siguientes campos vienen duplicados en el archivo: %s";
 		mensaje = String.format(mensaje, StringUtils.collectionToCommaDelimitedString(campos));
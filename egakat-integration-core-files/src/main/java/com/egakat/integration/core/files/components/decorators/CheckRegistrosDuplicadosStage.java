@@ -0,0 +1,111 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.KeyIndex;
+
+import lombok.val;
+
+/**
+ * Detecta llaves duplicadas conservando solo el hash de la llave y el número de
+ * linea de su primera aparición, no los registros completos. Los registros
+ * duplicados que se detectan en memoria se reportan y no continuan a las etapas
+ * siguientes.
+ * 
+ * Las primeras apariciones de las llaves repetidas, y los duplicados que solo se
+ * detectan al mezclar el indice volcado a disco, se reportan al finalizar con
+ * su número de linea.
+ */
+public class CheckRegistrosDuplicadosStage<T extends IdentifiedDomainObject<ID>, ID extends Serializable>
+		extends Stage<T, ID> {
+
+	private final CheckRegistrosDuplicadosDecorator<T, ID> checker = new CheckRegistrosDuplicadosDecorator<>(null);
+
+	private final List<Llave> llaves = new ArrayList<>();
+
+	public CheckRegistrosDuplicadosStage(Stage<T, ID> next) {
+		super(next);
+	}
+
+	@Override
+	public void inicio(EtlRequestDto<T, ID> request, List<ArchivoErrorDto> errores) {
+		cerrar();
+		for (val llave : request.getLlaves()) {
+			val campos = llave.getCodigosDeCampos(request.getCampos());
+			if (!campos.isEmpty()) {
+				llaves.add(new Llave(campos, checker.getMensajeValoresDuplicados(campos)));
+			}
+		}
+		super.inicio(request, errores);
+	}
+
+	@Override
+	public void procesar(RegistroDto<T, ID> registro) {
+		boolean duplicado = false;
+
+		for (val llave : llaves) {
+			val primero = llave.index.agregar(registro.getDatos(), llave.campos, registro.getNumeroLinea());
+
+			if (primero != -1) {
+				error(registro, llave.mensaje);
+				llave.reportados.set(registro.getNumeroLinea());
+				duplicado = true;
+			}
+		}
+
+		if (!duplicado) {
+			super.procesar(registro);
+		}
+	}
+
+	@Override
+	public void fin() {
+		try {
+			for (val llave : llaves) {
+				for (int numeroLinea : llave.index.getDuplicados()) {
+					if (!llave.reportados.get(numeroLinea)) {
+						val error = ArchivoErrorDto.error(getArchivoId(), llave.mensaje, numeroLinea, "");
+						getErrores().add(error);
+					}
+				}
+			}
+		} finally {
+			cerrar();
+		}
+		super.fin();
+	}
+
+	private void cerrar() {
+		for (val llave : llaves) {
+			try {
+				llave.index.close();
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+		llaves.clear();
+	}
+
+	private static class Llave {
+		private final List<String> campos;
+
+		private final String mensaje;
+
+		private final KeyIndex index = new KeyIndex();
+
+		private final BitSet reportados = new BitSet();
+
+		public Llave(List<String> campos, String mensaje) {
+			this.campos = campos;
+			this.mensaje = mensaje;
+		}
+	}
+}
@@ -3,22 +3,24 @@ package com.egakat.integration.core.files.components.decorators;
 import static com.egakat.integration.core.files.components.Constantes.COLECCION_NO_PUEDE_ESTAR_VACIA;
 
 import java.io.Serializable;
+import java.time.Clock;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang3.Validate;
 
 import com.egakat.core.domain.IdentifiedDomainObject;
 import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.DatosRegistro;
+import com.egakat.integration.commons.archivos.dto.IndiceCampos;
 import com.egakat.integration.commons.archivos.dto.RegistroDto;
 import com.egakat.integration.config.archivos.dto.CampoDto;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.Constantes;
-import com.egakat.integration.core.files.components.checkers.ExpresionRegularChecker;
-import com.egakat.integration.core.files.components.checkers.NumeroMaximoDeCaracteresChecker;
-import com.egakat.integration.core.files.components.checkers.TipoDeDatoChecker;
-import com.egakat.integration.core.files.components.checkers.ValorObligatorioChecker;
-import com.egakat.integration.core.files.components.checkers.ValoresPermitidosChecker;
+import com.egakat.integration.core.files.components.checkers.ContextoValidacion;
+import com.egakat.integration.core.files.components.checkers.PlanValidacion;
 import com.egakat.integration.core.files.exceptions.EtlRuntimeException;
 
 import lombok.val;
@@ -26,8 +28,19 @@ import lombok.val;
 public class CheckRestriccionesDeCamposDecorator<T extends IdentifiedDomainObject<ID>, ID extends Serializable>
 		extends Decorator<T, ID> {
 
+	private final Clock reloj;
+
 	public CheckRestriccionesDeCamposDecorator(Decorator<T, ID> inner) {
+		this(inner, Clock.systemDefaultZone());
+	}
+
+	/**
+	 * La fecha y hora con la que se calculan los limites relativos a la fecha
+	 * actual se toma del reloj una sola vez por archivo.
+	 */
+	public CheckRestriccionesDeCamposDecorator(Decorator<T, ID> inner, Clock reloj) {
 		super(inner);
+		this.reloj = reloj;
 	}
 
 	@Override
@@ -40,12 +53,13 @@ public class CheckRestriccionesDeCamposDecorator<T extends IdentifiedDomainObjec
 
 		long archivo = result.getArchivo().getId();
 		val registros = result.getRegistros();
-		val errores = new ArrayList<ArchivoErrorDto>();
+		val indice = getIndiceCampos(campos);
+		val plan = PlanValidacion.compilar(campos, ContextoValidacion.of(reloj));
 
-		for (val registro : registros) {
-			val list = checkRegistro(archivo, registro, campos);
-			errores.addAll(list);
-		}
+		int particiones = ProcesamientoParalelo.getParticiones(result, registros.size());
+		val presupuesto = PresupuestoErrores.of(result);
+		List<ArchivoErrorDto> errores = ProcesamientoParalelo.procesar(registros, particiones, presupuesto, archivo,
+				registro -> checkRegistro(archivo, registro, plan, indice));
 
 		if (!errores.isEmpty()) {
 			throw new EtlRuntimeException(archivo,"Se detectaron errores en el archivo por violación de las restricciones de sus campos", errores);
@@ -54,54 +68,42 @@ public class CheckRestriccionesDeCamposDecorator<T extends IdentifiedDomainObjec
 		return result;
 	}
 
-	private List<ArchivoErrorDto> checkRegistro(long archivoId, RegistroDto<T, ID> registro, List<CampoDto> campos) {
-		val result = new ArrayList<ArchivoErrorDto>();
+	List<ArchivoErrorDto> checkRegistro(long archivoId, RegistroDto<T, ID> registro, PlanValidacion plan,
+			IndiceCampos indice) {
+		List<ArchivoErrorDto> result = null;
 		val datos = registro.getDatos();
-		val numeroLinea = registro.getNumeroLinea();
-		val linea = registro.getLinea();
 
-		for (val campo : campos) {
-			if (campo.isIgnorar()) {
+		for (int i = 0; i < plan.size(); i++) {
+			val checkers = plan.getCheckers(i);
+			if (checkers.length == 0) {
 				continue;
 			}
-			val valor = datos.get(campo.getCodigo());
-
-			try {
-				(new NumeroMaximoDeCaracteresChecker()).check(campo, valor);
-			} catch (RuntimeException e) {
-				val error = ArchivoErrorDto.error(archivoId, e, numeroLinea, linea);
-				result.add(error);
-			}
-
-			try {
-				(new TipoDeDatoChecker()).check(campo, valor);
-			} catch (RuntimeException e) {
-				val error = ArchivoErrorDto.error(archivoId, e, numeroLinea, linea);
-				result.add(error);
-			}
 
-			try {
-				(new ValorObligatorioChecker()).check(campo, valor);
-			} catch (RuntimeException e) {
-				val error = ArchivoErrorDto.error(archivoId, e, numeroLinea, linea);
-				result.add(error);
+			val campo = plan.getCampo(i);
+			val valor = getValor(datos, indice, i, campo);
+
+			for (val checker : checkers) {
+				val resultado = checker.verificar(campo, valor);
+				if (!resultado.isOk()) {
+					if (result == null) {
+						result = new ArrayList<>();
+					}
+					result.add(resultado.toArchivoError(archivoId, registro.getNumeroLinea(), registro.getLinea()));
+				}
 			}
+		}
 
-			try {
-				(new ExpresionRegularChecker()).check(campo, valor);
-			} catch (RuntimeException e) {
-				val error = ArchivoErrorDto.error(archivoId, e, numeroLinea, linea);
-				result.add(error);
-			}
+		return result == null ? Collections.emptyList() : result;
+	}
 
-			try {
-				(new ValoresPermitidosChecker()).check(campo, valor);
-			} catch (RuntimeException e) {
-				val error = ArchivoErrorDto.error(archivoId, e, numeroLinea, linea);
-				result.add(error);
-			}
+	/**
+	 * Cuando los datos del registro se indexaron con el mismo indice construido
+	 * sobre la lista de campos, el valor se lee por posición sin buscar el código.
+	 */
+	private String getValor(Map<String, String> datos, IndiceCampos indice, int posicion, CampoDto campo) {
+		if (datos instanceof DatosRegistro && ((DatosRegistro) datos).getIndice() == indice) {
+			return ((DatosRegistro) datos).get(posicion);
 		}
-
-		return result;
+		return datos.get(campo.getCodigo());
 	}
 }
@@ -0,0 +1,63 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import static com.egakat.integration.core.files.components.Constantes.COLECCION_NO_PUEDE_ESTAR_VACIA;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.IndiceCampos;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.config.archivos.dto.CampoDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.checkers.ContextoValidacion;
+import com.egakat.integration.core.files.components.checkers.PlanValidacion;
+
+import lombok.val;
+
+public class CheckRestriccionesDeCamposStage<T extends IdentifiedDomainObject<ID>, ID extends Serializable>
+		extends Stage<T, ID> {
+
+	private final CheckRestriccionesDeCamposDecorator<T, ID> checker = new CheckRestriccionesDeCamposDecorator<>(
+			null);
+
+	private List<CampoDto> campos;
+
+	private IndiceCampos indice;
+
+	private PlanValidacion plan;
+
+	private final Clock reloj;
+
+	public CheckRestriccionesDeCamposStage(Stage<T, ID> next) {
+		this(next, Clock.systemDefaultZone());
+	}
+
+	public CheckRestriccionesDeCamposStage(Stage<T, ID> next, Clock reloj) {
+		super(next);
+		this.reloj = reloj;
+	}
+
+	@Override
+	public void inicio(EtlRequestDto<T, ID> request, List<ArchivoErrorDto> errores) {
+		campos = request.getCampos();
+		Validate.notEmpty(campos, COLECCION_NO_PUEDE_ESTAR_VACIA + "result.getCampos()");
+		indice = Decorator.getIndiceCampos(campos);
+		plan = PlanValidacion.compilar(campos, ContextoValidacion.of(reloj));
+		super.inicio(request, errores);
+	}
+
+	@Override
+	public void procesar(RegistroDto<T, ID> registro) {
+		val list = checker.checkRegistro(getArchivoId(), registro, plan, indice);
+		if (!list.isEmpty()) {
+			getErrores().addAll(list);
+			return;
+		}
+		super.procesar(registro);
+	}
+}
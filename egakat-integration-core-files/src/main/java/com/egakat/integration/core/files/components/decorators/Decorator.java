@@ -1,10 +1,14 @@
 package com.egakat.integration.core.files.components.decorators;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.Validate;
 
 import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.IndiceCampos;
+import com.egakat.integration.config.archivos.dto.CampoDto;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.Constantes;
 
@@ -20,6 +24,14 @@ public abstract class Decorator<T extends IdentifiedDomainObject<ID>, ID extends
 		this.inner = inner;
 	}
 
+	Decorator<T, ID> getInner() {
+		return inner;
+	}
+
+	void setInner(Decorator<T, ID> inner) {
+		this.inner = inner;
+	}
+
 	public EtlRequestDto<T, ID> transformar(EtlRequestDto<T, ID> archivo) {
 		Validate.notNull(archivo, Constantes.VALOR_NO_PUEDE_SER_NULO + "archivo");
 		if (inner != null) {
@@ -28,4 +40,12 @@ public abstract class Decorator<T extends IdentifiedDomainObject<ID>, ID extends
 			return archivo;
 		}
 	}
+
+	/**
+	 * El indice se construye sobre todos los campos del tipo de archivo, incluidos
+	 * los que se calculan, para que cada registro reserve una posición por campo.
+	 */
+	public static IndiceCampos getIndiceCampos(List<CampoDto> campos) {
+		return IndiceCampos.of(campos.stream().map(CampoDto::getCodigo).collect(Collectors.toList()));
+	}
 }
@@ -1,14 +1,14 @@
 package com.egakat.integration.core.files.components.decorators;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
 
-import org.apache.commons.lang3.StringUtils;
-
 import com.egakat.core.domain.IdentifiedDomainObject;
 import com.egakat.integration.commons.archivos.dto.RegistroDto;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.KeyIndex;
 
 import lombok.val;
 
@@ -22,28 +22,27 @@ public class DistinctDecorator<T extends IdentifiedDomainObject<ID>, ID extends
 	public EtlRequestDto<T, ID> transformar(EtlRequestDto<T, ID> request) {
 		val result = super.transformar(request);
 
-		val lineas = new ArrayList<String>();
 		val campos = request.getCamposNoIgnorados().stream().map(a -> a.getCodigo()).collect(Collectors.toList());
 
 		val registros = new ArrayList<RegistroDto<T, ID>>();
 		int n = result.getRegistros().size();
-		for (int i = 1; i < n; i++) {
-			val registro = result.getRegistros().get(i);
-			val sb = new StringBuilder();
 
-			for (val key : campos) {
-				val value = StringUtils.defaultString(registro.getDatos().get(key));
-				sb.append(value).append("|");
+		try (KeyIndex index = new KeyIndex()) {
+			for (int i = 1; i < n; i++) {
+				index.agregar(result.getRegistros().get(i).getDatos(), campos, i);
 			}
-			String linea = sb.toString();
-
-			if (lineas.contains(linea)) {
-				System.out.println(i + "|" + linea);
-				continue;
-			} else {
-				lineas.add(linea);
-				registros.add(registro);
+
+			val repetidos = index.getRepetidos();
+			int j = 0;
+			for (int i = 1; i < n; i++) {
+				if (j < repetidos.length && repetidos[j] == i) {
+					j++;
+					continue;
+				}
+				registros.add(result.getRegistros().get(i));
 			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
 		}
 
 		result.getRegistros().clear();
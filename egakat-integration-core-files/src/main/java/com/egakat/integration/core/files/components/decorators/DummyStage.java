@@ -0,0 +1,16 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.io.Serializable;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+
+public class DummyStage<T extends IdentifiedDomainObject<ID>, ID extends Serializable> extends Stage<T, ID> {
+
+	public DummyStage() {
+		super();
+	}
+
+	public DummyStage(Stage<T, ID> next) {
+		super(next);
+	}
+}
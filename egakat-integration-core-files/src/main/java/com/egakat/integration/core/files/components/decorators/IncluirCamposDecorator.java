@@ -1,17 +1,10 @@
 package com.egakat.integration.core.files.components.decorators;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
-import org.apache.commons.text.StrSubstitutor;
 
 import com.egakat.core.domain.IdentifiedDomainObject;
-import com.egakat.integration.config.archivos.dto.CampoDto;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.Constantes;
 
@@ -32,39 +25,13 @@ public class IncluirCamposDecorator<T extends IdentifiedDomainObject<ID>, ID ext
 		val registros = result.getRegistros();
 
 		if (!registros.isEmpty() && !campos.isEmpty()) {
-			Map<String, String> constantes = new HashMap<>();
-			List<CampoDto> variables = new ArrayList<>();
-
-			for (val campo : campos) {
-				String valor = campo.getValorPredeterminado();
-
-				if (!(StringUtils.contains(valor, "${") && StringUtils.contains(valor, "}"))) {
-					if (campo.isTruncarCaracteres()) {
-						valor = StringUtils.left(valor, campo.getNumeroCaracteres());
-					}
-					constantes.put(campo.getCodigo(), valor);
-				} else {
-					variables.add(campo);
-				}
-			}
+			val plantilla = PlantillaCampos.compilar(campos, getIndiceCampos(result.getCampos()));
 
 			for (val registro : registros) {
-				registro.getDatos().putAll(constantes);
-			}
-
-			for (val campo : variables) {
-				String valor = campo.getValorPredeterminado();
-				for (val registro : registros) {
-					StrSubstitutor sub = new StrSubstitutor(registro.getDatos(), "${", "}");
-					String s = sub.replace(valor);
-					if (campo.isTruncarCaracteres()) {
-						s = StringUtils.left(s, campo.getNumeroCaracteres());
-					}
-					registro.getDatos().put(campo.getCodigo(), s);
-				}
+				plantilla.incluir(registro.getDatos());
 			}
 		}
 
 		return result;
 	}
-}
\ No newline at end of file
+}
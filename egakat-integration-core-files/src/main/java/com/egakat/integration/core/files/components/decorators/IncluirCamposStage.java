@@ -0,0 +1,32 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+
+public class IncluirCamposStage<T extends IdentifiedDomainObject<ID>, ID extends Serializable>
+		extends Stage<T, ID> {
+
+	private PlantillaCampos plantilla;
+
+	public IncluirCamposStage(Stage<T, ID> next) {
+		super(next);
+	}
+
+	@Override
+	public void inicio(EtlRequestDto<T, ID> request, List<ArchivoErrorDto> errores) {
+		plantilla = PlantillaCampos.compilar(request.getCamposIncluidos(),
+				Decorator.getIndiceCampos(request.getCampos()));
+		super.inicio(request, errores);
+	}
+
+	@Override
+	public void procesar(RegistroDto<T, ID> registro) {
+		plantilla.incluir(registro.getDatos());
+		super.procesar(registro);
+	}
+}
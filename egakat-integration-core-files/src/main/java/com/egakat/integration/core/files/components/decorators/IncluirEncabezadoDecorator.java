@@ -9,6 +9,7 @@ import org.apache.commons.lang3.Validate;
 import org.springframework.util.StringUtils;
 
 import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.Constantes;
 
@@ -25,7 +26,6 @@ public class IncluirEncabezadoDecorator<T extends IdentifiedDomainObject<ID>, ID
 	public EtlRequestDto<T, ID> transformar(EtlRequestDto<T, ID> archivo) {
 		val result = super.transformar(archivo);
 		Validate.notNull(result, Constantes.VALOR_NO_PUEDE_SER_NULO + "result");
-		Validate.notNull(result.getDatos(), Constantes.VALOR_NO_PUEDE_SER_NULO + "result.getDatos()");
 
 		String separadorRegistros = archivo.getUnescapedSeparadorRegistros();
 		String separadorCampos = archivo.getUnescapedSeparadorCampos();
@@ -35,6 +35,24 @@ public class IncluirEncabezadoDecorator<T extends IdentifiedDomainObject<ID>, ID
 		Validate.notEmpty(separadorCampos,
 				VALOR_NO_PUEDE_SER_UNA_CADENA_VACIA + "archivo.getUnescapedSeparadorCampos()");
 
+		val encabezados = getEncabezados(archivo, separadorCampos);
+
+		if (result.getDatos() != null) {
+			result.setDatos(encabezados + separadorRegistros + result.getDatos());
+		} else {
+			// Los registros ya fueron leidos en modo streaming
+			val registros = result.getRegistros();
+			registros.add(0, new RegistroDto<T, ID>(0, encabezados));
+			for (int i = 1; i < registros.size(); i++) {
+				registros.get(i).setNumeroLinea(i);
+			}
+		}
+
+		return result;
+	}
+
+	static <T extends IdentifiedDomainObject<ID>, ID extends Serializable> String getEncabezados(
+			EtlRequestDto<T, ID> archivo, String separadorCampos) {
 		val campos = new ArrayList<String>();
 
 		// @formatter:off
@@ -46,10 +64,6 @@ public class IncluirEncabezadoDecorator<T extends IdentifiedDomainObject<ID>, ID
 		});
 		// @formatter:on
 
-		val encabezados = StringUtils.collectionToDelimitedString(campos, separadorCampos);
-
-		result.setDatos(encabezados + separadorRegistros + result.getDatos());
-
-		return result;
+		return StringUtils.collectionToDelimitedString(campos, separadorCampos);
 	}
 }
@@ -0,0 +1,42 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import static com.egakat.integration.core.files.components.Constantes.VALOR_NO_PUEDE_SER_UNA_CADENA_VACIA;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.Validate;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+
+import lombok.val;
+
+/**
+ * Para archivos sin encabezado: genera el encabezado a partir de los campos y
+ * entrega el primer registro del archivo como un registro de datos, desplazando
+ * la numeración de las lineas.
+ */
+public class IncluirEncabezadoStage<T extends IdentifiedDomainObject<ID>, ID extends Serializable>
+		extends Stage<T, ID> {
+
+	public IncluirEncabezadoStage(Stage<T, ID> next) {
+		super(next);
+	}
+
+	@Override
+	public void encabezado(RegistroDto<T, ID> registro) {
+		String separadorCampos = getRequest().getUnescapedSeparadorCampos();
+		Validate.notEmpty(separadorCampos,
+				VALOR_NO_PUEDE_SER_UNA_CADENA_VACIA + "archivo.getUnescapedSeparadorCampos()");
+
+		val encabezados = IncluirEncabezadoDecorator.getEncabezados(getRequest(), separadorCampos);
+		super.encabezado(new RegistroDto<T, ID>(0, encabezados));
+		procesar(registro);
+	}
+
+	@Override
+	public void procesar(RegistroDto<T, ID> registro) {
+		registro.setNumeroLinea(registro.getNumeroLinea() + 1);
+		super.procesar(registro);
+	}
+}
@@ -1,13 +1,13 @@
 package com.egakat.integration.core.files.components.decorators;
 
 import java.io.Serializable;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.Validate;
 
 import com.egakat.core.domain.IdentifiedDomainObject;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.Constantes;
+import com.egakat.integration.core.files.components.readers.TextNormalizer;
 
 import lombok.val;
 
@@ -23,18 +23,9 @@ extends Decorator<T, ID> {
 		val result = super.transformar(archivo);
 		Validate.notNull(result, Constantes.VALOR_NO_PUEDE_SER_NULO + "result");
 
-		Pattern pattern = Pattern.compile((".*=T\\(\\\".*\\\"\\).*"));
-		Pattern begin = Pattern.compile("=T\\(\\\"", Pattern.DOTALL);
-		Pattern end = Pattern.compile("\\\"\\)", Pattern.DOTALL);
-
 		val registros = result.getRegistros();
 		for (val registro : registros) {
-			String linea = registro.getLinea();
-			if (pattern.matcher(linea).matches()) {
-				linea = begin.matcher(linea).replaceAll("");
-				linea = end.matcher(linea).replaceAll("");
-			}
-			registro.setLinea(linea);
+			registro.setLinea(TextNormalizer.limpiarFuncionT(registro.getLinea()));
 		}
 
 		return result;
@@ -13,6 +13,7 @@ import com.egakat.core.domain.IdentifiedDomainObject;
 import com.egakat.integration.commons.archivos.dto.RegistroDto;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.Constantes;
+import com.egakat.integration.core.files.components.FieldTokenizer;
 
 import lombok.val;
 
@@ -45,18 +46,21 @@ public class LineasSplitterDecorator<T extends IdentifiedDomainObject<ID>, ID ex
 
 	private List<RegistroDto<T, ID>> split(String[] lineas, String separadorCampos) {
 		List<RegistroDto<T, ID>> result = new ArrayList<>();
+		val tokenizer = FieldTokenizer.of(separadorCampos);
 		int i = 0;
 		for (val linea : lineas) {
 			if (StringUtils.isEmpty(linea)) {
 				continue;
 			}
 
-			String lineaNormalizada = StringUtils.replacePattern(linea, separadorCampos, "");
-			if (StringUtils.isEmpty(lineaNormalizada)) {
+			val posiciones = tokenizer.tokenize(linea);
+			if (FieldTokenizer.isVacia(posiciones)) {
 				continue;
 			}
 
-			result.add(new RegistroDto<T, ID>(i++, linea));
+			val registro = new RegistroDto<T, ID>(i++, linea);
+			registro.setPosicionesCampos(posiciones);
+			result.add(registro);
 		}
 		return result;
 	}
@@ -2,11 +2,11 @@ package com.egakat.integration.core.files.components.decorators;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
-import java.text.ParseException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
@@ -37,17 +37,18 @@ public abstract class MapEntidadDecorator<T extends IdentifiedDomainObject<ID>,
 
 		long archivo = result.getArchivo().getId();
 		val registros = result.getRegistros();
-		val errores = new ArrayList<ArchivoErrorDto>();
 
-		for (val registro : registros) {
+		int particiones = ProcesamientoParalelo.getParticiones(result, registros.size());
+		List<ArchivoErrorDto> errores = ProcesamientoParalelo.procesar(registros, particiones, registro -> {
 			try {
 				val entidad = map(result, registro);
 				registro.setEntidad(entidad);
+				return Collections.<ArchivoErrorDto>emptyList();
 			} catch (RuntimeException e) {
 				val error = ArchivoErrorDto.error(archivo, e, registro.getNumeroLinea(), registro.getLinea());
-				errores.add(error);
+				return Collections.singletonList(error);
 			}
-		}
+		});
 
 		if (!errores.isEmpty()) {
 			throw new EtlRuntimeException(archivo,
@@ -57,6 +58,10 @@ public abstract class MapEntidadDecorator<T extends IdentifiedDomainObject<ID>,
 		return result;
 	}
 
+	/**
+	 * Cuando el tipo de archivo tiene paralelismo, este método se invoca desde
+	 * varios hilos a la vez y no debe depender de estado compartido mutable.
+	 */
 	protected abstract T map(EtlRequestDto<T, ID> archivo, RegistroDto<T, ID> registro);
 
 	protected String getString(EtlRequestDto<T, ID> archivo, final RegistroDto<T, ID> registro, final String campo) {
@@ -76,8 +81,7 @@ public abstract class MapEntidadDecorator<T extends IdentifiedDomainObject<ID>,
 			val optional = getCampo(archivo, campo);
 			if (optional.isPresent()) {
 				if (optional.get().getTipoDato() == DatoType.DECIMAL) {
-					val decimal = getBigDecimal(archivo, registro, campo);
-					result = decimal.intValue();
+					result = (int) getParteEntera(optional.get(), valor);
 				}
 			}
 
@@ -96,8 +100,7 @@ public abstract class MapEntidadDecorator<T extends IdentifiedDomainObject<ID>,
 			val optional = getCampo(archivo, campo);
 			if (optional.isPresent()) {
 				if (optional.get().getTipoDato() == DatoType.DECIMAL) {
-					val decimal = getBigDecimal(archivo, registro, campo);
-					result = decimal.longValue();
+					result = getParteEntera(optional.get(), valor);
 				}
 			}
 
@@ -114,36 +117,45 @@ public abstract class MapEntidadDecorator<T extends IdentifiedDomainObject<ID>,
 		val optional = getCampo(archivo, campo);
 		if (optional.isPresent()) {
 			val valor = registro.getDatos().get(optional.get().getCodigo());
-			val format = optional.get().getDecimalFormat();
+			val parser = optional.get().getDecimalParser();
 
 			if (!StringUtils.isEmpty(valor)) {
-				try {
-					result = (BigDecimal) format.parse(valor);
-				} catch (ParseException e) {
+				result = parser.parse(valor);
+				if (result == null) {
 					String mensaje = "Ocurrio un error al intentar hacer la conversión del dato %s";
 					mensaje = String.format(mensaje, valor);
-					throw new RuntimeException(mensaje, e);
+					throw new RuntimeException(mensaje);
 				}
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * Parte entera de un valor decimal, sin construir un {@link BigDecimal}.
+	 */
+	protected long getParteEntera(CampoDto campo, String valor) {
+		try {
+			return campo.getDecimalParser().parseUnscaled(valor, 0);
+		} catch (NumberFormatException e) {
+			String mensaje = "Ocurrio un error al intentar hacer la conversión del dato %s";
+			mensaje = String.format(mensaje, valor);
+			throw new RuntimeException(mensaje, e);
+		}
+	}
+
 	protected LocalDateTime getLocalDateTime(EtlRequestDto<T, ID> archivo, final RegistroDto<T, ID> registro,
 			final String campo) {
 		LocalDateTime result = null;
 		val optional = getCampo(archivo, campo);
 		if (optional.isPresent()) {
 			val valor = registro.getDatos().get(optional.get().getCodigo());
-			val formatter = optional.get().getDateTimeFormatter();
+			val parser = optional.get().getDateTimeParser();
 
 			if (!StringUtils.isEmpty(valor)) {
-				val temporalAccessor = formatter.parseBest(valor, LocalDateTime::from, LocalDate::from);
-
-				if (temporalAccessor instanceof LocalDateTime) {
-					result = (LocalDateTime) temporalAccessor;
-				} else {
-					result = ((LocalDate) temporalAccessor).atStartOfDay();
+				result = parser.parseLocalDateTime(valor);
+				if (result == null) {
+					throw errorConversion(valor);
 				}
 			}
 		}
@@ -156,10 +168,13 @@ public abstract class MapEntidadDecorator<T extends IdentifiedDomainObject<ID>,
 		val optional = getCampo(archivo, campo);
 		if (optional.isPresent()) {
 			val valor = registro.getDatos().get(optional.get().getCodigo());
-			val format = optional.get().getDateTimeFormatter();
+			val parser = optional.get().getDateTimeParser();
 
 			if (!StringUtils.isEmpty(valor)) {
-				result = LocalDate.parse(valor, format);
+				result = parser.parseLocalDate(valor);
+				if (result == null) {
+					throw errorConversion(valor);
+				}
 			}
 		}
 		return result;
@@ -171,10 +186,13 @@ public abstract class MapEntidadDecorator<T extends IdentifiedDomainObject<ID>,
 		val optional = getCampo(archivo, campo);
 		if (optional.isPresent()) {
 			val valor = registro.getDatos().get(optional.get().getCodigo());
-			val format = optional.get().getDateTimeFormatter();
+			val parser = optional.get().getDateTimeParser();
 
 			if (!StringUtils.isEmpty(valor)) {
-				result = LocalTime.parse(valor, format);
+				result = parser.parseLocalTime(valor);
+				if (result == null) {
+					throw errorConversion(valor);
+				}
 			}
 		}
 		return result;
@@ -198,6 +216,12 @@ public abstract class MapEntidadDecorator<T extends IdentifiedDomainObject<ID>,
 		return result;
 	}
 
+	private RuntimeException errorConversion(String valor) {
+		String mensaje = "Ocurrio un error al intentar hacer la conversión del dato %s";
+		mensaje = String.format(mensaje, valor);
+		return new RuntimeException(mensaje);
+	}
+
 	private Optional<CampoDto> getCampo(EtlRequestDto<T, ID> archivo, final String campo) {
 		return archivo.getCampo(campo);
 	}
@@ -0,0 +1,31 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.io.Serializable;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+
+/**
+ * Mapea cada registro a su entidad con el mismo {@link MapEntidadDecorator} que
+ * usa la cadena de decoradores.
+ */
+public class MapEntidadStage<T extends IdentifiedDomainObject<ID>, ID extends Serializable> extends Stage<T, ID> {
+
+	private final MapEntidadDecorator<T, ID> mapper;
+
+	public MapEntidadStage(MapEntidadDecorator<T, ID> mapper, Stage<T, ID> next) {
+		super(next);
+		this.mapper = mapper;
+	}
+
+	@Override
+	public void procesar(RegistroDto<T, ID> registro) {
+		try {
+			registro.setEntidad(mapper.map(getRequest(), registro));
+		} catch (RuntimeException e) {
+			error(registro, e);
+			return;
+		}
+		super.procesar(registro);
+	}
+}
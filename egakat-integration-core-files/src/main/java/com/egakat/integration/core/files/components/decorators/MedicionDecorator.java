@@ -0,0 +1,73 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.Validate;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.Constantes;
+
+import lombok.val;
+
+/**
+ * Registra en el {@link PerfilProcesamiento} del archivo la ejecución del
+ * decorador que envuelve como una etapa con el nombre indicado.
+ */
+public class MedicionDecorator<T extends IdentifiedDomainObject<ID>, ID extends Serializable> extends Decorator<T, ID> {
+
+	private static final String SUFIJO = "Decorator";
+
+	private final String etapa;
+
+	private final PerfilProcesamiento perfil;
+
+	public MedicionDecorator(String etapa, Decorator<T, ID> decorado, PerfilProcesamiento perfil) {
+		super(decorado);
+		this.etapa = etapa;
+		this.perfil = perfil;
+	}
+
+	@Override
+	public EtlRequestDto<T, ID> transformar(EtlRequestDto<T, ID> archivo) {
+		Validate.notNull(archivo, Constantes.VALOR_NO_PUEDE_SER_NULO + "archivo");
+		return perfil.medir(etapa, () -> super.transformar(archivo), result -> result.getRegistros().size());
+	}
+
+	/**
+	 * Envuelve cada decorador de la cadena en un {@link MedicionDecorator}, de modo
+	 * que cada uno se registra como una etapa del perfil con el nombre de su
+	 * clase sin el sufijo Decorator, por ejemplo checkRestriccionesDeCampos. Los
+	 * {@link DummyDecorator} no se registran.
+	 * 
+	 * @return El primer decorador de la cadena, ya envuelto.
+	 */
+	public static <T extends IdentifiedDomainObject<ID>, ID extends Serializable> Decorator<T, ID> medir(
+			Decorator<T, ID> decorator, PerfilProcesamiento perfil) {
+		Validate.notNull(decorator, Constantes.VALOR_NO_PUEDE_SER_NULO + "decorator");
+
+		Decorator<T, ID> actual = decorator;
+		while (actual != null) {
+			val inner = actual.getInner();
+			if (inner != null && !(inner instanceof DummyDecorator)) {
+				actual.setInner(new MedicionDecorator<>(getEtapa(inner), inner, perfil));
+			}
+			actual = inner;
+		}
+
+		return new MedicionDecorator<>(getEtapa(decorator), decorator, perfil);
+	}
+
+	private static String getEtapa(Decorator<?, ?> decorator) {
+		Class<?> clase = decorator.getClass();
+		while (clase.isAnonymousClass()) {
+			clase = clase.getSuperclass();
+		}
+
+		String result = clase.getSimpleName();
+		if (result.endsWith(SUFIJO) && result.length() > SUFIJO.length()) {
+			result = result.substring(0, result.length() - SUFIJO.length());
+		}
+		return Character.toLowerCase(result.charAt(0)) + result.substring(1);
+	}
+}
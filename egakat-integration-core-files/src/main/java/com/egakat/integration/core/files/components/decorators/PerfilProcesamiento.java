@@ -0,0 +1,246 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import com.egakat.integration.core.files.exceptions.EtlRuntimeException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.val;
+
+/**
+ * Perfil del procesamiento de un archivo: por cada etapa medida se registra el
+ * tiempo propio, los registros que recibe y entrega, los errores que reporta y,
+ * si se solicita, los bytes asignados por el hilo que la ejecuta.
+ *
+ * Las etapas se anidan igual que los decoradores, por lo que el tiempo y los
+ * bytes de una etapa no incluyen los de las etapas que se ejecutan dentro de
+ * ella. Los registros de entrada de una etapa son los que entregó la etapa
+ * anterior del mismo nivel o, si no la hay, la ultima etapa anidada; -1 indica
+ * que no se conocen. Los bytes asignados por los hilos de
+ * {@link ProcesamientoParalelo} no se cuentan.
+ */
+public class PerfilProcesamiento {
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	private final boolean medirAsignaciones;
+
+	private final List<Etapa> etapas = new ArrayList<>();
+
+	private final Deque<Etapa> activas = new ArrayDeque<>();
+
+	private final Etapa raiz = new Etapa("");
+
+	// Ultima excepción cuyos errores ya se registraron
+	private Throwable registrada;
+
+	public PerfilProcesamiento(boolean medirAsignaciones) {
+		this.medirAsignaciones = medirAsignaciones && isAsignacionesSoportadas();
+	}
+
+	public List<Etapa> getEtapas() {
+		return Collections.unmodifiableList(etapas);
+	}
+
+	/**
+	 * Ejecuta la operación como una etapa del perfil. Si la operación lanza una
+	 * {@link EtlRuntimeException} se registran sus errores; cualquier otra
+	 * excepción cuenta como un error. En ambos casos la excepción se relanza.
+	 * 
+	 * Los errores se registran solo en la etapa que lanzó la excepción: las
+	 * etapas que la envuelven, y que la reciben directamente o como causa de otra
+	 * excepción, registran cero errores.
+	 */
+	public <R> R medir(String nombre, Supplier<R> operacion, ToIntFunction<R> registros) {
+		iniciar(nombre);
+		try {
+			val result = operacion.get();
+			terminar(result == null ? -1 : registros.applyAsInt(result), 0);
+			return result;
+		} catch (RuntimeException e) {
+			terminar(-1, getErrores(e));
+			throw e;
+		}
+	}
+
+	private int getErrores(RuntimeException e) {
+		for (Throwable t = e; t != null; t = t.getCause()) {
+			if (t == registrada) {
+				return 0;
+			}
+		}
+
+		registrada = e;
+		if (e instanceof EtlRuntimeException) {
+			return ((EtlRuntimeException) e).getErrores().size();
+		}
+		return 1;
+	}
+
+	private void iniciar(String nombre) {
+		val padre = getPadre();
+		val etapa = new Etapa(nombre);
+		etapa.entradaAnterior = padre.ultimaSalida;
+		etapa.inicio = System.nanoTime();
+		etapa.bytesInicio = getBytesAsignados();
+		activas.push(etapa);
+	}
+
+	private void terminar(int salida, int errores) {
+		val etapa = activas.pop();
+		long nanos = System.nanoTime() - etapa.inicio;
+		long bytes = medirAsignaciones ? getBytesAsignados() - etapa.bytesInicio : 0;
+
+		etapa.nanos = nanos - etapa.nanosAnidados;
+		etapa.bytes = medirAsignaciones ? bytes - etapa.bytesAnidados : -1;
+		etapa.entrada = etapa.entradaAnterior != -1 ? etapa.entradaAnterior : etapa.ultimaSalida;
+		etapa.salida = salida;
+		etapa.errores = errores;
+		etapas.add(etapa);
+
+		val padre = getPadre();
+		padre.nanosAnidados += nanos;
+		padre.bytesAnidados += bytes;
+		padre.ultimaSalida = salida;
+	}
+
+	private Etapa getPadre() {
+		return activas.isEmpty() ? raiz : activas.peek();
+	}
+
+	private long getBytesAsignados() {
+		if (!medirAsignaciones) {
+			return 0;
+		}
+		return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static boolean isAsignacionesSoportadas() {
+		return THREADS instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()
+				&& ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemoryEnabled();
+	}
+
+	/**
+	 * Registra cada etapa en los medidores etl.etapa.*, etiquetados por el tipo de
+	 * archivo y el nombre de la etapa.
+	 */
+	public void publicar(MeterRegistry registry, String tipoArchivo) {
+		if (registry == null) {
+			return;
+		}
+
+		for (val etapa : etapas) {
+			// @formatter:off
+			Timer.builder("etl.etapa.tiempo")
+					.tag("tipoArchivo", tipoArchivo)
+					.tag("etapa", etapa.nombre)
+					.register(registry)
+					.record(etapa.nanos, TimeUnit.NANOSECONDS);
+
+			Counter.builder("etl.etapa.errores")
+					.tag("tipoArchivo", tipoArchivo)
+					.tag("etapa", etapa.nombre)
+					.register(registry)
+					.increment(etapa.errores);
+			// @formatter:on
+
+			registrar(registry, "etl.etapa.registros.entrada", "registros", tipoArchivo, etapa.nombre, etapa.entrada);
+			registrar(registry, "etl.etapa.registros.salida", "registros", tipoArchivo, etapa.nombre, etapa.salida);
+			registrar(registry, "etl.etapa.asignacion", "bytes", tipoArchivo, etapa.nombre, etapa.bytes);
+		}
+	}
+
+	private static void registrar(MeterRegistry registry, String nombre, String unidad, String tipoArchivo,
+			String etapa, long valor) {
+		if (valor < 0) {
+			return;
+		}
+
+		// @formatter:off
+		DistributionSummary.builder(nombre)
+				.baseUnit(unidad)
+				.tag("tipoArchivo", tipoArchivo)
+				.tag("etapa", etapa)
+				.register(registry)
+				.record(valor);
+		// @formatter:on
+	}
+
+	/**
+	 * @return El perfil en formato JSON, con las etapas en el orden en que
+	 *         terminaron.
+	 */
+	public String toJson() {
+		val sb = new StringBuilder("[");
+		for (int i = 0; i < etapas.size(); i++) {
+			val etapa = etapas.get(i);
+			if (i > 0) {
+				sb.append(',');
+			}
+
+			// @formatter:off
+			sb.append(String.format(Locale.ROOT,
+					"{\"etapa\":\"%s\",\"ms\":%.3f,\"entrada\":%d,\"salida\":%d,\"errores\":%d,\"bytes\":%d}",
+					etapa.nombre,
+					etapa.nanos / 1_000_000.0,
+					etapa.entrada,
+					etapa.salida,
+					etapa.errores,
+					etapa.bytes));
+			// @formatter:on
+		}
+		return sb.append(']').toString();
+	}
+
+	public static class Etapa {
+		@Getter
+		private final String nombre;
+
+		@Getter
+		private long nanos;
+
+		@Getter
+		private int entrada = -1;
+
+		@Getter
+		private int salida = -1;
+
+		@Getter
+		private int errores;
+
+		@Getter
+		private long bytes = -1;
+
+		// Estado mientras la etapa esta activa
+		private long inicio;
+
+		private long bytesInicio;
+
+		private long nanosAnidados;
+
+		private long bytesAnidados;
+
+		private int entradaAnterior = -1;
+
+		private int ultimaSalida = -1;
+
+		Etapa(String nombre) {
+			this.nombre = nombre;
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.egakat.integration.commons.archivos.dto.DatosRegistro;
+import com.egakat.integration.commons.archivos.dto.IndiceCampos;
+import com.egakat.integration.config.archivos.dto.CampoDto;
+
+import lombok.val;
+
+/**
+ * Valores predeterminados de los campos incluidos, compilados una sola vez por
+ * archivo. Cada valor se divide en segmentos de texto literal y referencias
+ * ${codigo} a otros campos, resueltas por su posición en el {@link IndiceCampos}
+ * cuando los datos del registro usan el mismo indice. Los valores sin
+ * referencias se tratan como constantes y se truncan al compilar.
+ *
+ * Se conserva la sintaxis de StrSubstitutor: $${ produce ${ literal, ${codigo:-valor}
+ * usa el valor indicado cuando el campo no tiene valor, y una referencia a un
+ * campo sin valor y sin valor predeterminado se deja sin reemplazar. Los valores
+ * resueltos no se vuelven a sustituir.
+ */
+class PlantillaCampos {
+
+	private static final String INICIO = "${";
+
+	private static final String FIN = "}";
+
+	private static final String ESCAPE = "$${";
+
+	private static final String DELIMITADOR_PREDETERMINADO = ":-";
+
+	private final IndiceCampos indice;
+
+	private final List<Campo> constantes = new ArrayList<>();
+
+	private final List<Campo> variables = new ArrayList<>();
+
+	private PlantillaCampos(List<CampoDto> campos, IndiceCampos indice) {
+		this.indice = indice;
+
+		for (val campo : campos) {
+			val compilado = new Campo(campo, indice);
+			if (compilado.isConstante()) {
+				constantes.add(compilado);
+			} else {
+				variables.add(compilado);
+			}
+		}
+	}
+
+	public static PlantillaCampos compilar(List<CampoDto> campos, IndiceCampos indice) {
+		return new PlantillaCampos(campos, indice);
+	}
+
+	/**
+	 * Asigna primero las constantes y luego los campos con referencias, en el
+	 * orden de la lista de campos, de modo que un campo puede referirse a uno
+	 * incluido antes que él.
+	 */
+	public void incluir(Map<String, String> datos) {
+		DatosRegistro indexados = null;
+		if (datos instanceof DatosRegistro && ((DatosRegistro) datos).getIndice() == indice) {
+			indexados = (DatosRegistro) datos;
+		}
+
+		for (int i = 0; i < constantes.size(); i++) {
+			val campo = constantes.get(i);
+			asignar(datos, indexados, campo, campo.constante);
+		}
+
+		StringBuilder sb = null;
+		for (int i = 0; i < variables.size(); i++) {
+			if (sb == null) {
+				sb = new StringBuilder();
+			}
+			val campo = variables.get(i);
+			asignar(datos, indexados, campo, campo.resolver(datos, indexados, sb));
+		}
+	}
+
+	private static void asignar(Map<String, String> datos, DatosRegistro indexados, Campo campo, String valor) {
+		if (indexados != null && campo.posicion != -1) {
+			indexados.set(campo.posicion, valor);
+		} else {
+			datos.put(campo.codigo, valor);
+		}
+	}
+
+	private static class Campo {
+		private final String codigo;
+
+		private final int posicion;
+
+		private final int maximo;
+
+		private final String constante;
+
+		// Por cada segmento, el texto literal o, si es una referencia, el texto
+		// original de la referencia para dejarlo sin reemplazar
+		private final String[] textos;
+
+		// null si el segmento es literal
+		private final String[] referencias;
+
+		private final int[] posiciones;
+
+		private final String[] predeterminados;
+
+		public Campo(CampoDto campo, IndiceCampos indice) {
+			this.codigo = campo.getCodigo();
+			this.posicion = indice.getPosicion(codigo);
+			this.maximo = campo.isTruncarCaracteres() ? campo.getNumeroCaracteres() : -1;
+
+			// Un campo sin valor predeterminado queda sin valor, no con una cadena vacia
+			if (campo.getValorPredeterminado() == null) {
+				this.constante = null;
+				this.textos = null;
+				this.referencias = null;
+				this.posiciones = null;
+				this.predeterminados = null;
+				return;
+			}
+
+			val segmentos = new ArrayList<String>();
+			val nombres = new ArrayList<String>();
+			val valores = new ArrayList<String>();
+			compilar(campo.getValorPredeterminado(), segmentos, nombres, valores);
+
+			if (nombres.stream().allMatch(a -> a == null)) {
+				this.constante = truncar(StringUtils.join(segmentos, ""));
+				this.textos = null;
+				this.referencias = null;
+				this.posiciones = null;
+				this.predeterminados = null;
+			} else {
+				this.constante = null;
+				this.textos = segmentos.toArray(new String[segmentos.size()]);
+				this.referencias = nombres.toArray(new String[nombres.size()]);
+				this.predeterminados = valores.toArray(new String[valores.size()]);
+				this.posiciones = new int[this.referencias.length];
+				for (int i = 0; i < this.referencias.length; i++) {
+					this.posiciones[i] = this.referencias[i] == null ? -1 : indice.getPosicion(this.referencias[i]);
+				}
+			}
+		}
+
+		public boolean isConstante() {
+			return textos == null;
+		}
+
+		public String resolver(Map<String, String> datos, DatosRegistro indexados, StringBuilder sb) {
+			sb.setLength(0);
+			for (int i = 0; i < textos.length; i++) {
+				if (maximo >= 0 && sb.length() >= maximo) {
+					break;
+				}
+
+				String valor = textos[i];
+				val referencia = referencias[i];
+				if (referencia != null) {
+					String resuelto;
+					if (indexados != null && posiciones[i] != -1) {
+						resuelto = indexados.get(posiciones[i]);
+					} else {
+						resuelto = datos.get(referencia);
+					}
+
+					if (resuelto == null) {
+						resuelto = predeterminados[i];
+					}
+					if (resuelto != null) {
+						valor = resuelto;
+					}
+				}
+				sb.append(valor);
+			}
+			return truncar(sb);
+		}
+
+		private String truncar(CharSequence valor) {
+			if (maximo >= 0 && valor.length() > maximo) {
+				return valor.subSequence(0, maximo).toString();
+			}
+			return valor.toString();
+		}
+
+		private static void compilar(String valor, List<String> textos, List<String> referencias,
+				List<String> predeterminados) {
+			val literal = new StringBuilder();
+			int i = 0;
+			while (i < valor.length()) {
+				if (valor.startsWith(ESCAPE, i)) {
+					literal.append(INICIO);
+					i += ESCAPE.length();
+					continue;
+				}
+
+				if (valor.startsWith(INICIO, i)) {
+					int fin = valor.indexOf(FIN, i + INICIO.length());
+					if (fin != -1) {
+						if (literal.length() > 0) {
+							agregar(textos, referencias, predeterminados, literal.toString(), null, null);
+							literal.setLength(0);
+						}
+
+						String nombre = valor.substring(i + INICIO.length(), fin);
+						String predeterminado = null;
+						int d = nombre.indexOf(DELIMITADOR_PREDETERMINADO);
+						if (d != -1) {
+							predeterminado = nombre.substring(d + DELIMITADOR_PREDETERMINADO.length());
+							nombre = nombre.substring(0, d);
+						}
+
+						val original = valor.substring(i, fin + FIN.length());
+						agregar(textos, referencias, predeterminados, original, nombre, predeterminado);
+						i = fin + FIN.length();
+						continue;
+					}
+				}
+
+				literal.append(valor.charAt(i++));
+			}
+
+			if (literal.length() > 0 || textos.isEmpty()) {
+				agregar(textos, referencias, predeterminados, literal.toString(), null, null);
+			}
+		}
+
+		private static void agregar(List<String> textos, List<String> referencias, List<String> predeterminados,
+				String texto, String referencia, String predeterminado) {
+			textos.add(texto);
+			referencias.add(referencia);
+			predeterminados.add(predeterminado);
+		}
+	}
+}
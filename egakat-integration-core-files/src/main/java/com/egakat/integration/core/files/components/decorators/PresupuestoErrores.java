@@ -0,0 +1,79 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.util.List;
+
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+
+import lombok.val;
+
+/**
+ * Número máximo de errores que se reportan para un archivo, tomado de
+ * {@link com.egakat.integration.config.archivos.dto.TipoArchivoDto#getMaximoErrores()}.
+ * Al alcanzarlo, las validaciones dejan de recorrer los registros restantes y
+ * agregan un error de resumen con lo que se dejó de reportar. Sin un máximo
+ * configurado, o con un valor menor o igual a cero, se reportan todos los
+ * errores.
+ */
+public class PresupuestoErrores {
+
+	public static final PresupuestoErrores ILIMITADO = new PresupuestoErrores(0);
+
+	private final int maximo;
+
+	public PresupuestoErrores(int maximo) {
+		this.maximo = maximo;
+	}
+
+	public static PresupuestoErrores of(EtlRequestDto<?, ?> request) {
+		val tipoArchivo = request.getTipoArchivo();
+		if (tipoArchivo == null || tipoArchivo.getMaximoErrores() == null) {
+			return ILIMITADO;
+		}
+		return new PresupuestoErrores(tipoArchivo.getMaximoErrores());
+	}
+
+	public int getMaximo() {
+		return maximo;
+	}
+
+	public boolean isAgotado(int errores) {
+		return maximo > 0 && errores >= maximo;
+	}
+
+	/**
+	 * Deja en la lista como máximo el número de errores permitidos y, si se
+	 * omitieron errores o quedaron registros sin validar, agrega el error de
+	 * resumen. Un archivo con exactamente el máximo de errores, en el que no se
+	 * omitió nada, no lleva resumen.
+	 *
+	 * @param registrosSinValidar Número de registros que no se alcanzaron a
+	 *                            validar, o -1 si no se conoce porque la lectura
+	 *                            se detuvo.
+	 */
+	public void resumir(List<ArchivoErrorDto> errores, long archivoId, int numeroLinea, long registrosSinValidar) {
+		int omitidos = 0;
+		while (errores.size() > maximo) {
+			errores.remove(errores.size() - 1);
+			omitidos++;
+		}
+
+		if (omitidos == 0 && registrosSinValidar == 0) {
+			return;
+		}
+
+		val sb = new StringBuilder();
+		sb.append(String.format("error máximo de errores: Se alcanzó el máximo de %d errores permitidos para el archivo "
+				+ "y el procesamiento se detuvo en la linea %d.", maximo, numeroLinea));
+		if (omitidos > 0) {
+			sb.append(String.format(" Se omitieron %,d errores adicionales.", omitidos));
+		}
+		if (registrosSinValidar > 0) {
+			sb.append(String.format(" Y %,d registros mas no fueron validados.", registrosSinValidar));
+		} else if (registrosSinValidar < 0) {
+			sb.append(" Los registros restantes no fueron validados.");
+		}
+
+		errores.add(ArchivoErrorDto.error(archivoId, sb.toString(), numeroLinea, ""));
+	}
+}
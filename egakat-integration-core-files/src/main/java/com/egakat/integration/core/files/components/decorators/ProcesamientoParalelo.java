@@ -0,0 +1,160 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+
+import lombok.val;
+
+/**
+ * Procesa los registros de un archivo en particiones contiguas sobre un pool de
+ * hilos propio y acotado, sin usar el pool común. El número de particiones se
+ * toma de {@link com.egakat.integration.config.archivos.dto.TipoArchivoDto#getParalelismo()}
+ * y se limita para que cada partición tenga al menos
+ * {@link #MINIMO_REGISTROS_POR_PARTICION} registros, de modo que los archivos
+ * pequeños se procesan en el hilo que invoca.
+ *
+ * Los errores se retornan ordenados por número de linea, sin importar el orden
+ * en que terminen las particiones.
+ *
+ * Con un presupuesto de errores, cada partición se detiene al alcanzar el
+ * máximo por su cuenta, y el máximo se aplica después de unir los errores en
+ * orden de linea. Así los errores que se conservan son siempre los primeros por
+ * número de linea, sin importar cuántas particiones haya ni cuál termine
+ * primero.
+ */
+public final class ProcesamientoParalelo {
+
+	public static final int MINIMO_REGISTROS_POR_PARTICION = 1000;
+
+	private static final int TAMANO_POOL = Runtime.getRuntime().availableProcessors();
+
+	private static final int CAPACIDAD_COLA = TAMANO_POOL * 4;
+
+	private static volatile ExecutorService executor;
+
+	private ProcesamientoParalelo() {
+	}
+
+	public static int getParticiones(EtlRequestDto<?, ?> request, int registros) {
+		val tipoArchivo = request.getTipoArchivo();
+		int paralelismo = 1;
+		if (tipoArchivo != null && tipoArchivo.getParalelismo() != null) {
+			paralelismo = tipoArchivo.getParalelismo();
+		}
+		return Math.max(1, Math.min(paralelismo, registros / MINIMO_REGISTROS_POR_PARTICION));
+	}
+
+	/**
+	 * Aplica la función a cada registro y acumula los errores que retorna.
+	 */
+	public static <R> List<ArchivoErrorDto> procesar(List<R> registros, int particiones,
+			Function<R, List<ArchivoErrorDto>> funcion) {
+		return procesar(registros, particiones, PresupuestoErrores.ILIMITADO, 0, funcion);
+	}
+
+	/**
+	 * Aplica la función a cada registro y acumula los errores que retorna. Cada
+	 * partición deja de procesar registros cuando sus errores alcanzan el
+	 * presupuesto; al unirlas se conservan los primeros errores por número de
+	 * linea y, si algo se omitió, se agrega el error de resumen.
+	 */
+	public static <R> List<ArchivoErrorDto> procesar(List<R> registros, int particiones,
+			PresupuestoErrores presupuesto, long archivoId, Function<R, List<ArchivoErrorDto>> funcion) {
+		val procesados = new AtomicInteger();
+		val result = new ArrayList<ArchivoErrorDto>();
+
+		if (particiones <= 1) {
+			result.addAll(procesar(registros, funcion, presupuesto, procesados));
+		} else {
+			int tamano = (registros.size() + particiones - 1) / particiones;
+			val futures = new ArrayList<Future<List<ArchivoErrorDto>>>(particiones);
+			for (int desde = 0; desde < registros.size(); desde += tamano) {
+				val particion = registros.subList(desde, Math.min(desde + tamano, registros.size()));
+				futures.add(getExecutor().submit(() -> procesar(particion, funcion, presupuesto, procesados)));
+			}
+
+			for (val future : futures) {
+				result.addAll(esperar(future));
+			}
+			Collections.sort(result, Comparator.comparingInt(ArchivoErrorDto::getNumeroLinea));
+		}
+
+		if (presupuesto.isAgotado(result.size())) {
+			int numeroLinea = result.get(presupuesto.getMaximo() - 1).getNumeroLinea();
+			presupuesto.resumir(result, archivoId, numeroLinea, registros.size() - procesados.get());
+		}
+		return result;
+	}
+
+	private static <R> List<ArchivoErrorDto> procesar(List<R> registros, Function<R, List<ArchivoErrorDto>> funcion,
+			PresupuestoErrores presupuesto, AtomicInteger procesados) {
+		val result = new ArrayList<ArchivoErrorDto>();
+		for (val registro : registros) {
+			if (presupuesto.isAgotado(result.size())) {
+				break;
+			}
+
+			result.addAll(funcion.apply(registro));
+			procesados.incrementAndGet();
+		}
+		return result;
+	}
+
+	private static List<ArchivoErrorDto> esperar(Future<List<ArchivoErrorDto>> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Se interrumpió el procesamiento en paralelo de los registros", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * Cuando la cola se llena, la partición se procesa en el hilo que la envía.
+	 */
+	private static ExecutorService getExecutor() {
+		if (executor == null) {
+			synchronized (ProcesamientoParalelo.class) {
+				if (executor == null) {
+					val contador = new AtomicInteger();
+					ThreadFactory factory = r -> {
+						val thread = new Thread(r, "etl-registros-" + contador.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					};
+
+					// @formatter:off
+					executor = new ThreadPoolExecutor(
+							TAMANO_POOL,
+							TAMANO_POOL,
+							60L, TimeUnit.SECONDS,
+							new LinkedBlockingQueue<>(CAPACIDAD_COLA),
+							factory,
+							new ThreadPoolExecutor.CallerRunsPolicy());
+					// @formatter:on
+					((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+				}
+			}
+		}
+		return executor;
+	}
+}
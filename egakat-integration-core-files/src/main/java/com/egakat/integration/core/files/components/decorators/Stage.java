@@ -0,0 +1,91 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.val;
+
+/**
+ * Etapa de un pipeline que procesa el archivo registro por registro, como
+ * alternativa a {@link Decorator}, que procesa todos los registros del archivo
+ * en cada paso.
+ * 
+ * El primer registro del archivo se entrega por {@link #encabezado} y los demas
+ * por {@link #procesar}. Cada etapa entrega los registros a la siguiente; un
+ * registro con errores se reporta en la lista de errores compartida y no
+ * continua a las etapas siguientes.
+ */
+@Getter(AccessLevel.PROTECTED)
+public abstract class Stage<T extends IdentifiedDomainObject<ID>, ID extends Serializable> {
+
+	private final Stage<T, ID> next;
+
+	private EtlRequestDto<T, ID> request;
+
+	private List<ArchivoErrorDto> errores;
+
+	public Stage() {
+		this.next = null;
+	}
+
+	public Stage(Stage<T, ID> next) {
+		this.next = next;
+	}
+
+	public void inicio(EtlRequestDto<T, ID> request, List<ArchivoErrorDto> errores) {
+		this.request = request;
+		this.errores = errores;
+		if (next != null) {
+			next.inicio(request, errores);
+		}
+	}
+
+	public void encabezado(RegistroDto<T, ID> registro) {
+		if (next != null) {
+			next.encabezado(registro);
+		}
+	}
+
+	public void procesar(RegistroDto<T, ID> registro) {
+		if (next != null) {
+			next.procesar(registro);
+		}
+	}
+
+	public void fin() {
+		if (next != null) {
+			next.fin();
+		}
+	}
+
+	/**
+	 * Se invoca en lugar de {@link #fin()} cuando el procesamiento del archivo se
+	 * interrumpe por una excepción, para que las etapas liberen sus recursos.
+	 */
+	public void cancelar() {
+		if (next != null) {
+			next.cancelar();
+		}
+	}
+
+	protected long getArchivoId() {
+		return getRequest().getArchivo().getId();
+	}
+
+	protected void error(RegistroDto<T, ID> registro, RuntimeException e) {
+		val error = ArchivoErrorDto.error(getArchivoId(), e, registro.getNumeroLinea(), registro.getLinea());
+		getErrores().add(error);
+	}
+
+	protected void error(RegistroDto<T, ID> registro, String mensaje) {
+		val error = ArchivoErrorDto.error(getArchivoId(), mensaje, registro.getNumeroLinea(), registro.getLinea());
+		getErrores().add(error);
+	}
+}
@@ -0,0 +1,101 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.Validate;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.config.archivos.dto.CampoDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.Constantes;
+import com.egakat.integration.core.files.components.writers.SpillWriter;
+import com.egakat.integration.core.files.exceptions.EtlRuntimeException;
+
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Vuelca los registros divididos en campos en el formato binario de
+ * {@link SpillWriter}, cuando el directorio del tipo de archivo tiene
+ * configurado un directorio de volcado. En este modo todos los registros del
+ * archivo ya estan en memoria, por lo que se escriben al terminar la división;
+ * {@link VolcadoBinarioStage} los escribe a medida que se dividen.
+ *
+ * Si la división falla no hay registros que volcar, por lo que se realiza el
+ * volcado de texto de los datos leidos antes de propagar el error.
+ */
+@Slf4j
+public class VolcadoBinarioDecorator<T extends IdentifiedDomainObject<ID>, ID extends Serializable>
+		extends Decorator<T, ID> {
+
+	private final Function<EtlRequestDto<T, ID>, Path> destino;
+
+	private final Consumer<EtlRequestDto<T, ID>> volcadoTexto;
+
+	public VolcadoBinarioDecorator(Decorator<T, ID> inner, Function<EtlRequestDto<T, ID>, Path> destino,
+			Consumer<EtlRequestDto<T, ID>> volcadoTexto) {
+		super(inner);
+		this.destino = destino;
+		this.volcadoTexto = volcadoTexto;
+	}
+
+	@Override
+	public EtlRequestDto<T, ID> transformar(EtlRequestDto<T, ID> request) {
+		EtlRequestDto<T, ID> result;
+		try {
+			result = super.transformar(request);
+		} catch (RuntimeException e) {
+			volcarTexto(request, e);
+			throw e;
+		}
+		Validate.notNull(result, Constantes.VALOR_NO_PUEDE_SER_NULO + "result");
+
+		if (!isVolcado(result)) {
+			return result;
+		}
+
+		val path = destino.apply(result);
+		log.info("Realizando el volcado de registros del archivo {} en el archivo {}", result.getArchivo().getNombre(), path);
+
+		try (SpillWriter writer = newWriter(result, path)) {
+			for (val registro : result.getRegistros()) {
+				writer.write(registro);
+			}
+		} catch (IOException e) {
+			throw new EtlRuntimeException(result.getArchivo().getId(), e.getMessage(), e);
+		}
+
+		return result;
+	}
+
+	private void volcarTexto(EtlRequestDto<T, ID> request, RuntimeException error) {
+		if (!isVolcado(request)) {
+			return;
+		}
+
+		try {
+			volcadoTexto.accept(request);
+		} catch (RuntimeException e) {
+			error.addSuppressed(e);
+		}
+	}
+
+	static boolean isVolcado(EtlRequestDto<?, ?> request) {
+		return request.getDirectorio() != null && request.getDirectorio().isDump();
+	}
+
+	static SpillWriter newWriter(EtlRequestDto<?, ?> request, Path path) throws IOException {
+		val campos = request.getCamposNoIncluidos().stream().map(CampoDto::getCodigo).collect(Collectors.toList());
+
+		if (Files.notExists(path.getParent())) {
+			Files.createDirectories(path.getParent());
+		}
+		return new SpillWriter(path, campos);
+	}
+}
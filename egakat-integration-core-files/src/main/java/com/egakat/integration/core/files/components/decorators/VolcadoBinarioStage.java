@@ -0,0 +1,93 @@
+package com.egakat.integration.core.files.components.decorators;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.writers.SpillWriter;
+
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Escribe cada registro en el volcado binario a medida que se divide, antes de
+ * entregarlo a las etapas siguientes, de modo que si el procesamiento falla el
+ * volcado conserva los registros que se alcanzaron a dividir. Ver
+ * {@link VolcadoBinarioDecorator}.
+ */
+@Slf4j
+public class VolcadoBinarioStage<T extends IdentifiedDomainObject<ID>, ID extends Serializable> extends Stage<T, ID> {
+
+	private final Function<EtlRequestDto<T, ID>, Path> destino;
+
+	private SpillWriter writer;
+
+	public VolcadoBinarioStage(Stage<T, ID> next, Function<EtlRequestDto<T, ID>, Path> destino) {
+		super(next);
+		this.destino = destino;
+	}
+
+	@Override
+	public void inicio(EtlRequestDto<T, ID> request, List<ArchivoErrorDto> errores) {
+		writer = null;
+		if (VolcadoBinarioDecorator.isVolcado(request)) {
+			val path = destino.apply(request);
+			log.info("Realizando el volcado de registros del archivo {} en el archivo {}", request.getArchivo().getNombre(), path);
+
+			try {
+				writer = VolcadoBinarioDecorator.newWriter(request, path);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		super.inicio(request, errores);
+	}
+
+	@Override
+	public void procesar(RegistroDto<T, ID> registro) {
+		if (writer != null) {
+			try {
+				writer.write(registro);
+			} catch (IOException e) {
+				cerrar();
+				throw new UncheckedIOException(e);
+			}
+		}
+		super.procesar(registro);
+	}
+
+	@Override
+	public void fin() {
+		cerrar();
+		super.fin();
+	}
+
+	@Override
+	public void cancelar() {
+		try {
+			cerrar();
+		} catch (UncheckedIOException e) {
+			log.warn("No fue posible cerrar el volcado de registros: {}", e.getMessage());
+		}
+		super.cancelar();
+	}
+
+	private void cerrar() {
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} finally {
+				writer = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import lombok.val;
+
+/**
+ * Recuerda el juego de caracteres detectado para cada tipo de archivo. Los
+ * archivos de un mismo tipo provienen del mismo sistema origen, por lo que el
+ * juego de caracteres aprendido se reutiliza mientras la muestra del nuevo
+ * archivo se pueda decodificar estrictamente con él.
+ */
+@Component
+public class CharsetCache {
+
+	private final Map<String, Charset> charsets = new ConcurrentHashMap<>();
+
+	public Optional<Charset> get(String tipoArchivo, byte[] muestra, int length) {
+		if (tipoArchivo == null) {
+			return Optional.empty();
+		}
+
+		val charset = charsets.get(tipoArchivo);
+		if (charset != null && verificar(charset, muestra, length)) {
+			return Optional.of(charset);
+		}
+		return Optional.empty();
+	}
+
+	public void put(String tipoArchivo, Charset charset) {
+		if (tipoArchivo != null && charset != null) {
+			charsets.put(tipoArchivo, charset);
+		}
+	}
+
+	public void evict(String tipoArchivo) {
+		charsets.remove(tipoArchivo);
+	}
+
+	protected boolean verificar(Charset charset, byte[] muestra, int length) {
+		if (!decodificable(charset, muestra, length)) {
+			return false;
+		}
+
+		// Los juegos de caracteres de un byte aceptan cualquier secuencia, por lo que
+		// una muestra con caracteres no ASCII que también es UTF-8 valido indica que el
+		// origen cambio de codificación.
+		if (!StandardCharsets.UTF_8.equals(charset) && !ascii(muestra, length)) {
+			return !decodificable(StandardCharsets.UTF_8, muestra, length);
+		}
+		return true;
+	}
+
+	protected boolean decodificable(Charset charset, byte[] muestra, int length) {
+		// @formatter:off
+		CharsetDecoder decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPORT)
+				.onUnmappableCharacter(CodingErrorAction.REPORT);
+		// @formatter:on
+
+		val in = ByteBuffer.wrap(muestra, 0, length);
+		val out = CharBuffer.allocate(Math.max(16, length));
+		while (true) {
+			// La muestra puede terminar en medio de un caracter multibyte, por eso no se
+			// marca como el final de la entrada.
+			CoderResult result = decoder.decode(in, out, false);
+			if (result.isError()) {
+				return false;
+			}
+			if (result.isOverflow()) {
+				out.clear();
+				continue;
+			}
+			return true;
+		}
+	}
+
+	protected boolean ascii(byte[] muestra, int length) {
+		for (int i = 0; i < length; i++) {
+			if (muestra[i] < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -1,47 +1,289 @@
 package com.egakat.integration.core.files.components.readers;
 
+import static org.springframework.beans.factory.config.ConfigurableBeanFactory.SCOPE_PROTOTYPE;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.any23.encoding.TikaEncodingDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Component
-public class CharsetDetectorFileReader implements Reader {
+@Scope(SCOPE_PROTOTYPE)
+@Getter
+@Setter
+public class CharsetDetectorFileReader implements ParallelReader, DigestReader {
+
+	public static final char BYTE_ORDER_MARK = 65279;
+
+	public static final char REPLACEMENT_CHARACTER = 65533;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final char SEPARADOR_REGISTROS = '\n';
+
+	public static final int TAMANO_MUESTRA_CHARSET = 64 * 1024;
+
+	private int tamanoMuestraCharset = TAMANO_MUESTRA_CHARSET;
+
+	public static final long UMBRAL_LECTURA_PARALELA = 64 * 1024 * 1024;
+
+	public static final long TAMANO_BLOQUE = 16 * 1024 * 1024;
+
+	private String tipoArchivo;
+
+	private String patronEntradaComprimido;
+
+	private long umbralLecturaParalela = UMBRAL_LECTURA_PARALELA;
+
+	private long tamanoBloque = TAMANO_BLOQUE;
+
+	private int paralelismo = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Si no es null, el texto se normaliza durante la lectura y
+	 * {@link #read(Path)} retorna las lineas no vacias separadas por un salto de
+	 * linea, sin retornos de carro.
+	 */
+	private TextNormalizer normalizer;
+
+	/**
+	 * Si no es null, se actualiza con el contenido descomprimido del archivo a
+	 * medida que se lee. El hash solo es completo si la lectura termina.
+	 */
+	private MessageDigest digest;
+
+	@Autowired
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private CharsetCache charsetCache;
 
 	@Override
 	public String read(Path input) throws IOException {
-		Charset charset = null;
-		try (InputStream is = new FileInputStream(input.toFile())) {
-			charset = guessCharset(is);
+		if (getNormalizer() != null) {
+			val sb = new StringBuilder();
+			read(input, linea -> {
+				if (!linea.isEmpty()) {
+					sb.append(linea).append(SEPARADOR_REGISTROS);
+				}
+			});
+			return sb.toString();
 		}
 
-		if (charset == null) {
-			throw new RuntimeException(
-					"No fue posible determinar el juego de caracteres del archivo " + input.getFileName().toString());
+		try (InputStreamReader reader = abrir(input)) {
+			val sb = new StringBuilder();
+			val buffer = CharBuffer.allocate(BUFFER_SIZE);
+			val chars = buffer.array();
+
+			while (reader.read(buffer) != -1) {
+				int n = limpiar(chars, buffer.position());
+				sb.append(chars, 0, n);
+				buffer.clear();
+			}
+			return sb.toString();
 		}
+	}
+
+	/**
+	 * Lee el archivo por bloques y entrega cada registro al consumidor a medida que
+	 * se encuentra el separador de registros, sin construir el contenido completo
+	 * en memoria. Un retorno de carro previo al separador es descartado.
+	 */
+	@Override
+	public void read(Path input, Consumer<String> registros) throws IOException {
+		try (InputStreamReader reader = abrir(input)) {
+			val linea = new StringBuilder();
+			val buffer = CharBuffer.allocate(BUFFER_SIZE);
+			val chars = buffer.array();
 
-		try (InputStreamReader reader = new InputStreamReader(new FileInputStream(input.toFile()), charset)) {
-			StringBuilder sb = new StringBuilder();
-			int c = 0;
-			while ((c = reader.read()) != -1) {
-				if (c != 65279 && c != 65533) {
-					sb.append((char) c);
+			while (reader.read(buffer) != -1) {
+				int n = normalizar(chars, buffer.position());
+				int inicio = 0;
+				for (int i = 0; i < n; i++) {
+					if (chars[i] == SEPARADOR_REGISTROS) {
+						linea.append(chars, inicio, i - inicio);
+						emitir(linea, registros);
+						inicio = i + 1;
+					}
 				}
+				linea.append(chars, inicio, n - inicio);
+				buffer.clear();
+			}
+
+			if (linea.length() > 0) {
+				emitir(linea, registros);
 			}
-			return sb.toString();
 		}
 	}
 
+	/**
+	 * Los archivos a partir de {@link #getUmbralLecturaParalela()} bytes se
+	 * proyectan en memoria y se dividen en registros por bloques en paralelo; los
+	 * demas, o los codificados en juegos de caracteres como UTF-16, se leen de
+	 * forma secuencial. La transformación se aplica a cada registro y los que
+	 * resultan en null son descartados.
+	 */
+	@Override
+	public List<String> readLines(Path input, Function<String, String> transformacion) throws IOException {
+		if (Files.size(input) >= getUmbralLecturaParalela() && !CompressedFile.isCompressed(input)) {
+			Charset charset;
+			try (BufferedInputStream is = new BufferedInputStream(new FileInputStream(input.toFile()), BUFFER_SIZE)) {
+				charset = detectarCharset(input, is);
+			}
+
+			if (MappedLineSplitter.isAplicable(charset)) {
+				try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+					val splitter = new MappedLineSplitter(channel, charset, getTamanoBloque(), getParalelismo(),
+							getNormalizer(), getDigest());
+					return splitter.split(transformacion);
+				}
+			}
+		}
+
+		val result = new ArrayList<String>();
+		read(input, linea -> {
+			val registro = transformacion.apply(linea);
+			if (registro != null) {
+				result.add(registro);
+			}
+		});
+		return result;
+	}
+
+	private void emitir(StringBuilder linea, Consumer<String> registros) {
+		int n = linea.length();
+		if (n > 0 && linea.charAt(n - 1) == '\r') {
+			linea.setLength(n - 1);
+		}
+		if (getNormalizer() != null) {
+			getNormalizer().normalizarLinea(linea);
+		}
+		registros.accept(linea.toString());
+		linea.setLength(0);
+	}
+
+	private int normalizar(char[] chars, int length) {
+		if (getNormalizer() != null) {
+			return getNormalizer().normalizar(chars, length);
+		}
+		return limpiar(chars, length);
+	}
+
+	/**
+	 * Elimina del bloque los caracteres BOM y de reemplazo, compactando el arreglo
+	 * en el mismo lugar.
+	 *
+	 * @return El número de caracteres validos que quedan al inicio del arreglo.
+	 */
+	protected static int limpiar(char[] chars, int length) {
+		int j = 0;
+		for (int i = 0; i < length; i++) {
+			char c = chars[i];
+			if (c != BYTE_ORDER_MARK && c != REPLACEMENT_CHARACTER) {
+				if (i != j) {
+					chars[j] = c;
+				}
+				j++;
+			}
+		}
+		return j;
+	}
+
+	/**
+	 * Abre el archivo una sola vez: el juego de caracteres se detecta sobre una
+	 * muestra acotada del inicio del archivo y la decodificación continua desde el
+	 * mismo flujo despues de regresar a la marca. Los archivos comprimidos se
+	 * descomprimen a medida que se leen, y el digest, si lo hay, se actualiza en
+	 * el mismo flujo.
+	 */
+	protected InputStreamReader abrir(Path input) throws IOException {
+		InputStream in = CompressedFile.open(input, getPatronEntradaComprimido());
+		if (getDigest() != null) {
+			in = new DigestInputStream(in, getDigest());
+		}
+
+		val is = new BufferedInputStream(in, BUFFER_SIZE);
+		try {
+			val charset = detectarCharset(input, is);
+			return new InputStreamReader(is, charset);
+		} catch (IOException | RuntimeException e) {
+			is.close();
+			throw e;
+		}
+	}
+
+	protected Charset detectarCharset(Path input, BufferedInputStream is) throws IOException {
+		val muestra = new byte[getTamanoMuestraCharset()];
+
+		is.mark(muestra.length);
+		int n = 0;
+		int leidos;
+		while (n < muestra.length && (leidos = is.read(muestra, n, muestra.length - n)) != -1) {
+			n += leidos;
+		}
+		is.reset();
+
+		val cached = charsetCache.get(getTipoArchivo(), muestra, n);
+		if (cached.isPresent()) {
+			return cached.get();
+		}
+
+		Charset charset = detectar(new ByteArrayInputStream(muestra, 0, n));
+
+		// UTF-8 solo se asume para este archivo; si se guardara en el cache, los
+		// siguientes archivos del tipo lo reutilizarian sin volver a detectarlo
+		if (charset == null) {
+			log.warn("No fue posible detectar el juego de caracteres del archivo {}, se asume UTF-8",
+					input.getFileName());
+			return StandardCharsets.UTF_8;
+		}
+
+		log.debug("Juego de caracteres detectado para el archivo {}:{}", input.getFileName(), charset);
+		charsetCache.put(getTipoArchivo(), charset);
+		return charset;
+	}
+
 	public static Charset guessCharset(InputStream is) throws IOException {
+		val result = detectar(is);
+		return result == null ? StandardCharsets.UTF_8 : result;
+	}
+
+	/**
+	 * @return El juego de caracteres detectado, o null si no fue posible
+	 *         detectarlo.
+	 */
+	protected static Charset detectar(InputStream is) throws IOException {
 		try {
 			return Charset.forName(new TikaEncodingDetector().guessEncoding(is));
 		} catch (Exception e) {
-			return Charset.forName("UTF-8");
+			log.debug("No fue posible detectar el juego de caracteres:{}", e.getMessage());
+			return null;
 		}
 	}
 }
@@ -0,0 +1,145 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.val;
+
+/**
+ * Acceso transparente a archivos comprimidos con gzip o zip. El tipo de
+ * compresión se determina por la firma del archivo y no por su extensión. Los
+ * paquetes OOXML (.xlsx) también son archivos zip, pero se tratan como archivos
+ * sin comprimir.
+ */
+public class CompressedFile {
+
+	public enum Compression {
+		NONE, GZIP, ZIP
+	}
+
+	private static final String OOXML_CONTENT_TYPES = "[Content_Types].xml";
+
+	private static final String MACOSX = "__MACOSX/";
+
+	public static Compression getCompression(Path archivo) throws IOException {
+		val firma = new byte[4];
+		int n;
+		try (InputStream in = new FileInputStream(archivo.toFile())) {
+			n = in.read(firma);
+		}
+
+		if (n >= 2 && (firma[0] & 0xFF) == 0x1F && (firma[1] & 0xFF) == 0x8B) {
+			return Compression.GZIP;
+		}
+
+		if (n == 4 && firma[0] == 'P' && firma[1] == 'K' && firma[2] == 3 && firma[3] == 4) {
+			try (ZipFile zip = new ZipFile(archivo.toFile())) {
+				if (zip.getEntry(OOXML_CONTENT_TYPES) == null) {
+					return Compression.ZIP;
+				}
+			}
+		}
+
+		return Compression.NONE;
+	}
+
+	public static boolean isCompressed(Path archivo) throws IOException {
+		return getCompression(archivo) != Compression.NONE;
+	}
+
+	/**
+	 * Abre el contenido descomprimido del archivo. Para archivos zip se lee la
+	 * entrada cuyo nombre coincide con el patrón; si no se indica un patrón, el
+	 * archivo debe contener una única entrada.
+	 */
+	public static InputStream open(Path archivo, String patronEntrada) throws IOException {
+		switch (getCompression(archivo)) {
+		case GZIP:
+			return new GZIPInputStream(new FileInputStream(archivo.toFile()));
+		case ZIP:
+			return openZipEntry(archivo, patronEntrada);
+		default:
+			return new FileInputStream(archivo.toFile());
+		}
+	}
+
+	/**
+	 * Descomprime el contenido en un archivo temporal, para los lectores que
+	 * requieren acceso aleatorio. El llamador es responsable de eliminarlo.
+	 */
+	public static Path extract(Path archivo, String patronEntrada) throws IOException {
+		val temporal = Files.createTempFile("egakat-", ".tmp");
+		try (InputStream in = open(archivo, patronEntrada)) {
+			Files.copy(in, temporal, StandardCopyOption.REPLACE_EXISTING);
+			return temporal;
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temporal);
+			throw e;
+		}
+	}
+
+	private static InputStream openZipEntry(Path archivo, String patronEntrada) throws IOException {
+		val zip = new ZipFile(archivo.toFile());
+		try {
+			val entry = getEntry(zip, archivo, patronEntrada);
+			return new FilterInputStream(zip.getInputStream(entry)) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						zip.close();
+					}
+				}
+			};
+		} catch (IOException | RuntimeException e) {
+			zip.close();
+			throw e;
+		}
+	}
+
+	private static ZipEntry getEntry(ZipFile zip, Path archivo, String patronEntrada) {
+		Pattern pattern = null;
+		if (StringUtils.isNotEmpty(patronEntrada)) {
+			pattern = Pattern.compile(patronEntrada, Pattern.CASE_INSENSITIVE);
+		}
+
+		val candidatas = new ArrayList<ZipEntry>();
+		val entries = zip.entries();
+		while (entries.hasMoreElements()) {
+			val entry = entries.nextElement();
+			if (entry.isDirectory() || entry.getName().startsWith(MACOSX)) {
+				continue;
+			}
+
+			val nombre = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+			if (pattern == null || pattern.matcher(nombre).matches()) {
+				candidatas.add(entry);
+			}
+		}
+
+		if (candidatas.isEmpty()) {
+			String format = "El archivo comprimido %s no contiene una entrada que coincida con el patrón %s";
+			throw new RuntimeException(String.format(format, archivo.getFileName(), patronEntrada));
+		}
+
+		if (pattern == null && candidatas.size() > 1) {
+			String format = "El archivo comprimido %s contiene %d entradas, se debe configurar el patrón de la entrada a procesar";
+			throw new RuntimeException(String.format(format, archivo.getFileName(), candidatas.size()));
+		}
+
+		return candidatas.get(0);
+	}
+}
@@ -0,0 +1,11 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.security.MessageDigest;
+
+/**
+ * Lector que actualiza un {@link MessageDigest} con el contenido descomprimido
+ * del archivo en la misma lectura en que lo procesa, sin volver a leerlo.
+ */
+public interface DigestReader extends Reader {
+	void setDigest(MessageDigest digest);
+}
@@ -0,0 +1,51 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+/**
+ * Formateador de celdas compartido por los lectores de Excel. Las fechas se
+ * normalizan al formato yyyy-MM-dd HH:mm:ss, omitiendo la hora cuando es
+ * medianoche, y el texto resultante se limpia de la función T("...") y de
+ * tabuladores y saltos de linea.
+ */
+public class ExcelDataFormatter extends DataFormatter {
+
+	private static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+	@Override
+	public String formatRawCellContents(double value, int formatIndex, String formatString,
+			boolean use1904Windowing) {
+		if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+			Date date = DateUtil.getJavaDate(value, use1904Windowing);
+			return formatDate(date);
+		}
+		return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+	}
+
+	public static String formatDate(Date date) {
+		LocalDateTime ldt = LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+		String text = ldt.format(dateTimeFormatter);
+		text = StringUtils.remove(text, " 00:00:00");
+		return text;
+	}
+
+	public static String limpiar(String text) {
+		if (text.startsWith("T(\"") && text.endsWith("\")")) {
+			if (text.equals("T(\"\")")) {
+				text = "";
+			} else {
+				text = text.substring(3, text.length() - 2);
+			}
+		}
+
+		text = StringUtils.replaceChars(text, "\t\n", "  ");
+		return text;
+	}
+}
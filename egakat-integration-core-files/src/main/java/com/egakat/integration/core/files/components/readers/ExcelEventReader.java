@@ -0,0 +1,72 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import lombok.Getter;
+import lombok.val;
+
+/**
+ * Base de los lectores de Excel basados en eventos. Estos lectores recorren la
+ * hoja fila por fila sin construir el modelo completo del libro en memoria.
+ */
+@Getter
+public abstract class ExcelEventReader implements StreamingReader {
+
+	private final String workSheetName;
+
+	private final int rowOffset;
+
+	private final int colOffset;
+
+	private final Integer lastCellNum;
+
+	public ExcelEventReader(String workSheetName, int rowOffset, int colOffset, Integer lastCellNum) {
+		this.workSheetName = workSheetName;
+		this.rowOffset = rowOffset;
+		this.colOffset = colOffset;
+		this.lastCellNum = lastCellNum;
+	}
+
+	@Override
+	public String read(Path archivo) throws IOException {
+		val sb = new StringBuilder();
+		read(archivo, linea -> sb.append(linea).append("\n"));
+		return sb.toString();
+	}
+
+	protected ExcelRowBuffer newRowBuffer(Consumer<String> registros) {
+		return new ExcelRowBuffer(getRowOffset(), getColOffset(), getLastCellNum(), registros);
+	}
+
+	protected int getWorkSheetIndex(List<String> nombres) {
+		int n = nombres.size();
+		try {
+			int index = Integer.valueOf(this.getWorkSheetName());
+			if (index == 0 && n > 1) {
+				throw new RuntimeException(
+						"Se esperaba que este libro de excel solo contviera una hoja, sin ebargo contiene " + n
+								+ ".Elimine las hojas de mas yasea que esten visibles u ocultas.");
+			}
+			if (index < 0 || index >= n) {
+				throw new RuntimeException("El libro de excel no contiene una hoja en la posición " + index);
+			}
+			return index;
+		} catch (NumberFormatException e) {
+			for (int i = 0; i < n; i++) {
+				if (nombres.get(i).equalsIgnoreCase(this.getWorkSheetName())) {
+					return i;
+				}
+			}
+
+			val sb = new StringBuilder();
+			sb.append("Se esperaba encontrar una hoja con el nombre \"").append(this.getWorkSheetName()).append("\", ").append("pero solo se econtrarón las siguientes:");
+			for (int i = 0; i < n; i++) {
+				sb.append(nombres.get(i)).append(", ");
+			}
+			throw new RuntimeException(sb.toString());
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Acumula las celdas de la fila en curso de un lector de eventos de Excel y
+ * entrega la fila como una linea separada por tabuladores, respetando el
+ * desplazamiento de filas y columnas y el número de columnas esperado. Si no se
+ * define el número de columnas, se toma de la primera fila leida.
+ */
+public class ExcelRowBuffer {
+
+	private final int rowOffset;
+
+	private final int colOffset;
+
+	private Integer numeroColumnas;
+
+	private final Consumer<String> registros;
+
+	private String[] celdas = new String[32];
+
+	private int ultimaColumna = -1;
+
+	private int fila = -1;
+
+	public ExcelRowBuffer(int rowOffset, int colOffset, Integer lastCellNum, Consumer<String> registros) {
+		this.rowOffset = rowOffset;
+		this.colOffset = colOffset;
+		this.numeroColumnas = lastCellNum;
+		this.registros = registros;
+	}
+
+	public void startRow(int fila) {
+		Arrays.fill(celdas, 0, ultimaColumna + 1, null);
+		this.ultimaColumna = -1;
+		this.fila = fila;
+	}
+
+	public void cell(int columna, String valor) {
+		if (fila < rowOffset || columna < 0) {
+			return;
+		}
+
+		if (columna >= celdas.length) {
+			celdas = Arrays.copyOf(celdas, Math.max(columna + 1, celdas.length * 2));
+		}
+		celdas[columna] = valor;
+		ultimaColumna = Math.max(ultimaColumna, columna);
+	}
+
+	public int getSiguienteColumna() {
+		return ultimaColumna + 1;
+	}
+
+	public int getFila() {
+		return fila;
+	}
+
+	public void endRow() {
+		if (fila < rowOffset) {
+			return;
+		}
+
+		if (numeroColumnas == null) {
+			numeroColumnas = ultimaColumna + 1;
+		}
+
+		StringBuilder sb = new StringBuilder();
+		for (int j = colOffset; j < numeroColumnas; j++) {
+			String text = "";
+			if (j <= ultimaColumna && celdas[j] != null) {
+				text = ExcelDataFormatter.limpiar(celdas[j]);
+			}
+			sb.append(text).append("\t");
+		}
+
+		if (sb.length() > 0) {
+			sb.setLength(sb.length() - 1);
+		}
+		registros.accept(sb.toString());
+	}
+}
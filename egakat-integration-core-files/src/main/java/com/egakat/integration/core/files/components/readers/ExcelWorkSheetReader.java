@@ -6,15 +6,14 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.function.Consumer;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.DateUtil;
@@ -34,11 +33,9 @@ import lombok.val;
 @Scope(SCOPE_PROTOTYPE)
 @Getter
 @Setter
-public class ExcelWorkSheetReader implements Reader {
+public class ExcelWorkSheetReader implements StreamingReader {
 	public static final char NON_BREAKING_SPACE = 160;
 
-	private static DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
 	private static DataFormatter formatter = new DataFormatter();
 
 	@NonNull
@@ -47,17 +44,60 @@ public class ExcelWorkSheetReader implements Reader {
 	private int rowOffset = 0;
 	private int colOffset = 0;
 	private Integer lastCellNum;
+	private String patronEntradaComprimido;
 
 	@Override
 	public String read(Path archivo) throws IOException {
+		val sb = new StringBuilder();
+		read(archivo, linea -> sb.append(linea).append("\n"));
+		return sb.toString();
+	}
+
+	@Override
+	public void read(Path archivo, Consumer<String> registros) throws IOException {
+		if (CompressedFile.isCompressed(archivo)) {
+			// POI requiere acceso aleatorio al libro, por lo que el contenido se descomprime
+			// en un archivo temporal
+			val temporal = CompressedFile.extract(archivo, getPatronEntradaComprimido());
+			try {
+				read(temporal, registros);
+			} finally {
+				Files.deleteIfExists(temporal);
+			}
+			return;
+		}
+
+		val reader = getEventReader(archivo);
+		if (reader != null) {
+			reader.read(archivo, registros);
+			return;
+		}
+
 		// http://stackoverflow.com/questions/4929646/how-to-get-an-excel-blank-cell-value-in-apache-poi
 		Workbook workbook = createWorkBook(archivo);
-		Sheet sheet = getWorkSheet(workbook);
+		try {
+			Sheet sheet = getWorkSheet(workbook);
+			getData(sheet, registros);
+		} finally {
+			workbook.close();
+		}
+	}
 
-		String result = getData(sheet);
+	private ExcelEventReader getEventReader(Path archivo) throws IOException {
+		switch (getFileMagic(archivo)) {
+		case OOXML:
+			return new ExcelXlsxEventReader(getWorkSheetName(), getRowOffset(), getColOffset(), getLastCellNum());
+		case OLE2:
+			return new ExcelXlsEventReader(getWorkSheetName(), getRowOffset(), getColOffset(), getLastCellNum());
+		default:
+			return null;
+		}
+	}
 
-		workbook.close();
-		return result;
+	private FileMagic getFileMagic(Path archivo) throws IOException {
+		try (InputStream in = FileMagic.prepareToCheckMagic(new FileInputStream(archivo.toFile()))) {
+			return FileMagic.valueOf(in);
+		}
 	}
 
 	private Workbook createWorkBook(Path archivo) throws FileNotFoundException, IOException {
@@ -104,14 +144,14 @@ public class ExcelWorkSheetReader implements Reader {
 		return sheet;
 	}
 
-	private String getData(Sheet sheet) {
+	private void getData(Sheet sheet, Consumer<String> registros) {
 		int numeroColumnasEsperado = getNumeroDeColumnasEsperado(sheet, rowOffset);
 
-		StringBuilder sb = new StringBuilder();
 		int n = sheet.getLastRowNum();
 		for (int i = rowOffset; i <= n; i++) {
 			Row row = sheet.getRow(i);
 			if (row != null) {
+				StringBuilder sb = new StringBuilder();
 				for (int j = colOffset; j < numeroColumnasEsperado; j++) {
 					String text = "";
 					val cell = row.getCell(j);
@@ -124,12 +164,9 @@ public class ExcelWorkSheetReader implements Reader {
 				if (sb.length() > 0) {
 					sb.setLength(sb.length() - 1);
 				}
-				sb.append("\n");
+				registros.accept(sb.toString());
 			}
 		}
-
-		String result = sb.toString();
-		return result;
 	}
 
 	private int getNumeroDeColumnasEsperado(Sheet sheet, int rowOffset) {
@@ -161,9 +198,7 @@ public class ExcelWorkSheetReader implements Reader {
 			case NUMERIC:
 				if (DateUtil.isCellDateFormatted(cell)) {
 					Date date = cell.getDateCellValue();
-					LocalDateTime ldt = LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
-					text = ldt.format(dateTimeFormatter);
-					text = StringUtils.remove(text, " 00:00:00");
+					text = ExcelDataFormatter.formatDate(date);
 				}
 				break;
 			case BOOLEAN:
@@ -176,15 +211,7 @@ public class ExcelWorkSheetReader implements Reader {
 			}
 		}
 
-		if (text.startsWith("T(\"") && text.endsWith("\")")) {
-			if (text.equals("T(\"\")")) {
-				text = "";
-			} else {
-				text = text.substring(3, text.length() - 2);
-			}
-		}
-
-		text = StringUtils.replaceChars(text, "\t\n", "  ");
+		text = ExcelDataFormatter.limpiar(text);
 		return text;
 	}
 }
@@ -0,0 +1,185 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.poi.hssf.eventusermodel.EventWorkbookBuilder.SheetRecordCollectingListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.model.HSSFFormulaParser;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+import org.apache.poi.ss.usermodel.FormulaError;
+
+import lombok.val;
+
+/**
+ * Lector de libros .xls (BIFF8) basado en el API de eventos de HSSF. Aplica las
+ * mismas reglas de formato que {@link ExcelWorkSheetReader}: fechas
+ * normalizadas y formulas entregadas como texto.
+ */
+public class ExcelXlsEventReader extends ExcelEventReader {
+
+	public ExcelXlsEventReader(String workSheetName, int rowOffset, int colOffset, Integer lastCellNum) {
+		super(workSheetName, rowOffset, colOffset, lastCellNum);
+	}
+
+	@Override
+	public void read(Path archivo, Consumer<String> registros) throws IOException {
+		try (NPOIFSFileSystem fs = new NPOIFSFileSystem(archivo.toFile(), true)) {
+			val listener = new SheetListener(newRowBuffer(registros));
+			val missing = new MissingRecordAwareHSSFListener(listener);
+			val formats = new FormatTrackingHSSFListener(missing);
+			val workbook = new SheetRecordCollectingListener(formats);
+			listener.formats = formats;
+			listener.workbook = workbook;
+
+			val request = new HSSFRequest();
+			request.addListenerForAllRecords(workbook);
+
+			val factory = new HSSFEventFactory();
+			factory.processWorkbookEvents(request, fs.getRoot());
+		}
+	}
+
+	private class SheetListener implements HSSFListener {
+
+		private final ExcelRowBuffer filas;
+
+		private final ExcelDataFormatter formatter = new ExcelDataFormatter();
+
+		private FormatTrackingHSSFListener formats;
+
+		private SheetRecordCollectingListener workbook;
+
+		private final List<BoundSheetRecord> boundSheetRecords = new ArrayList<>();
+
+		private BoundSheetRecord[] orderedBoundSheetRecords;
+
+		private String nombreHoja;
+
+		private SSTRecord sstRecord;
+
+		private boolean use1904Windowing = false;
+
+		private int sheetIndex = -1;
+
+		private boolean hojaSeleccionada = false;
+
+		private int fila = -1;
+
+		public SheetListener(ExcelRowBuffer filas) {
+			this.filas = filas;
+		}
+
+		@Override
+		public void processRecord(Record record) {
+			// Los registros ficticios no tienen sid propio
+			if (record instanceof LastCellOfRowDummyRecord) {
+				if (hojaSeleccionada && fila != -1) {
+					filas.endRow();
+					fila = -1;
+				}
+				return;
+			}
+
+			switch (record.getSid()) {
+			case BoundSheetRecord.sid:
+				boundSheetRecords.add((BoundSheetRecord) record);
+				break;
+			case DateWindow1904Record.sid:
+				use1904Windowing = ((DateWindow1904Record) record).getWindowing() == 1;
+				break;
+			case SSTRecord.sid:
+				sstRecord = (SSTRecord) record;
+				break;
+			case BOFRecord.sid:
+				val bof = (BOFRecord) record;
+				if (bof.getType() == BOFRecord.TYPE_WORKSHEET) {
+					iniciarHoja();
+				}
+				break;
+			default:
+				if (hojaSeleccionada && record instanceof CellValueRecordInterface) {
+					cell((CellValueRecordInterface) record);
+				}
+				break;
+			}
+		}
+
+		private void iniciarHoja() {
+			if (orderedBoundSheetRecords == null) {
+				val nombres = new ArrayList<String>();
+				for (val bsr : boundSheetRecords) {
+					nombres.add(bsr.getSheetname());
+				}
+				int index = getWorkSheetIndex(nombres);
+				nombreHoja = nombres.get(index);
+				orderedBoundSheetRecords = BoundSheetRecord.orderByBofPosition(boundSheetRecords);
+			}
+
+			sheetIndex++;
+			hojaSeleccionada = orderedBoundSheetRecords[sheetIndex].getSheetname().equals(nombreHoja);
+			fila = -1;
+		}
+
+		private void cell(CellValueRecordInterface cell) {
+			if (cell.getRow() != fila) {
+				fila = cell.getRow();
+				filas.startRow(fila);
+			}
+			filas.cell(cell.getColumn(), getCellText(cell));
+		}
+
+		private String getCellText(CellValueRecordInterface cell) {
+			switch (((Record) cell).getSid()) {
+			case BlankRecord.sid:
+				return "";
+			case BoolErrRecord.sid:
+				val boolErr = (BoolErrRecord) cell;
+				if (boolErr.isBoolean()) {
+					return boolErr.getBooleanValue() ? "TRUE" : "FALSE";
+				}
+				return FormulaError.forInt(boolErr.getErrorValue()).getString();
+			case FormulaRecord.sid:
+				val formula = (FormulaRecord) cell;
+				return HSSFFormulaParser.toFormulaString(workbook.getStubHSSFWorkbook(),
+						formula.getParsedExpression());
+			case LabelRecord.sid:
+				return ((LabelRecord) cell).getValue();
+			case LabelSSTRecord.sid:
+				val label = (LabelSSTRecord) cell;
+				return sstRecord.getString(label.getSSTIndex()).toString();
+			case NumberRecord.sid:
+				val number = (NumberRecord) cell;
+				int formatIndex = formats.getFormatIndex(number);
+				String formatString = formats.getFormatString(number);
+				if (formatString == null) {
+					return formatter.formatRawCellContents(number.getValue(), -1, "General", use1904Windowing);
+				}
+				return formatter.formatRawCellContents(number.getValue(), formatIndex, formatString,
+						use1904Windowing);
+			default:
+				return "";
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.SAXHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import lombok.val;
+
+/**
+ * Lector de libros .xlsx basado en el API de eventos (SAX) de POI. Las formulas
+ * se entregan como texto, igual que {@link ExcelWorkSheetReader} cuando no
+ * evalua el libro.
+ */
+public class ExcelXlsxEventReader extends ExcelEventReader {
+
+	public ExcelXlsxEventReader(String workSheetName, int rowOffset, int colOffset, Integer lastCellNum) {
+		super(workSheetName, rowOffset, colOffset, lastCellNum);
+	}
+
+	@Override
+	public void read(Path archivo, Consumer<String> registros) throws IOException {
+		OPCPackage pkg = null;
+		try {
+			pkg = OPCPackage.open(archivo.toFile(), PackageAccess.READ);
+
+			val reader = new XSSFReader(pkg);
+			val strings = new ReadOnlySharedStringsTable(pkg);
+			val styles = reader.getStylesTable();
+
+			val nombres = new ArrayList<String>();
+			val sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+			while (sheets.hasNext()) {
+				try (InputStream is = sheets.next()) {
+					nombres.add(sheets.getSheetName());
+				}
+			}
+
+			int index = getWorkSheetIndex(nombres);
+
+			val it = (XSSFReader.SheetIterator) reader.getSheetsData();
+			for (int i = 0; i < index; i++) {
+				it.next().close();
+			}
+
+			try (InputStream sheet = it.next()) {
+				val filas = newRowBuffer(registros);
+				val contents = new RowBufferSheetContentsHandler(filas);
+				val handler = new XSSFSheetXMLHandler(styles, null, strings, contents, new ExcelDataFormatter(), true);
+
+				val parser = SAXHelper.newXMLReader();
+				parser.setContentHandler(handler);
+				parser.parse(new InputSource(sheet));
+			}
+		} catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+			throw new RuntimeException(e);
+		} finally {
+			if (pkg != null) {
+				pkg.revert();
+			}
+		}
+	}
+
+	private static class RowBufferSheetContentsHandler implements SheetContentsHandler {
+
+		private final ExcelRowBuffer filas;
+
+		public RowBufferSheetContentsHandler(ExcelRowBuffer filas) {
+			this.filas = filas;
+		}
+
+		@Override
+		public void startRow(int rowNum) {
+			filas.startRow(rowNum);
+		}
+
+		@Override
+		public void endRow(int rowNum) {
+			filas.endRow();
+		}
+
+		@Override
+		public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+			int columna;
+			if (cellReference != null) {
+				columna = new CellReference(cellReference).getCol();
+			} else {
+				columna = filas.getSiguienteColumna();
+			}
+			filas.cell(columna, formattedValue);
+		}
+
+		@Override
+		public void headerFooter(String text, boolean isHeader, String tagName) {
+		}
+	}
+}
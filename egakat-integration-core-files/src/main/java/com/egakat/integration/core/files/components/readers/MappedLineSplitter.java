@@ -0,0 +1,209 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+import lombok.val;
+
+/**
+ * Divide un archivo en registros proyectando bloques del archivo en memoria y
+ * procesandolos en paralelo. Los limites de cada bloque se desplazan hasta el
+ * siguiente separador de registros, de modo que ningun registro queda partido
+ * entre dos bloques. Los resultados se concatenan en el orden de los bloques,
+ * por lo que la numeración de los registros es la misma que la de una lectura
+ * secuencial.
+ * 
+ * Solo es aplicable a juegos de caracteres en los que el separador de registros
+ * se codifica con un unico byte que no hace parte de otros caracteres.
+ * 
+ * Si se indica un digest, el hilo que invoca la división lo actualiza con los
+ * bloques en orden mientras los demas hilos los dividen.
+ */
+public class MappedLineSplitter {
+
+	private static final byte SEPARADOR_REGISTROS = '\n';
+
+	private static final int TAMANO_BUSQUEDA = 8 * 1024;
+
+	private final FileChannel channel;
+
+	private final Charset charset;
+
+	private final long tamanoBloque;
+
+	private final int paralelismo;
+
+	private final TextNormalizer normalizer;
+
+	private final MessageDigest digest;
+
+	public MappedLineSplitter(FileChannel channel, Charset charset, long tamanoBloque, int paralelismo) {
+		this(channel, charset, tamanoBloque, paralelismo, null, null);
+	}
+
+	public MappedLineSplitter(FileChannel channel, Charset charset, long tamanoBloque, int paralelismo,
+			TextNormalizer normalizer) {
+		this(channel, charset, tamanoBloque, paralelismo, normalizer, null);
+	}
+
+	public MappedLineSplitter(FileChannel channel, Charset charset, long tamanoBloque, int paralelismo,
+			TextNormalizer normalizer, MessageDigest digest) {
+		this.channel = channel;
+		this.charset = charset;
+		this.tamanoBloque = Math.min(tamanoBloque, Integer.MAX_VALUE);
+		this.paralelismo = paralelismo;
+		this.normalizer = normalizer;
+		this.digest = digest;
+	}
+
+	public static boolean isAplicable(Charset charset) {
+		val separador = "\n".getBytes(charset);
+		return separador.length == 1 && separador[0] == SEPARADOR_REGISTROS;
+	}
+
+	public List<String> split(Function<String, String> transformacion) throws IOException {
+		val pool = new ForkJoinPool(paralelismo);
+		try {
+			val limites = getLimites(pool);
+
+			val tareas = new ArrayList<ForkJoinTask<List<String>>>();
+			for (int i = 0; i < limites.size() - 1; i++) {
+				long inicio = limites.get(i);
+				long fin = limites.get(i + 1);
+				tareas.add(pool.submit(() -> split(inicio, fin, transformacion)));
+			}
+
+			if (digest != null) {
+				for (int i = 0; i < limites.size() - 1; i++) {
+					long inicio = limites.get(i);
+					digest.update(channel.map(MapMode.READ_ONLY, inicio, limites.get(i + 1) - inicio));
+				}
+			}
+
+			val result = new ArrayList<String>();
+			for (val tarea : tareas) {
+				result.addAll(tarea.join());
+			}
+			return result;
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Calcula en paralelo la posición en que inicia cada bloque: la posición
+	 * siguiente al primer separador de registros encontrado a partir de cada
+	 * multiplo del tamaño de bloque.
+	 */
+	private List<Long> getLimites(ForkJoinPool pool) throws IOException {
+		long size = channel.size();
+
+		val tareas = new ArrayList<ForkJoinTask<Long>>();
+		for (long posicion = tamanoBloque; posicion < size; posicion += tamanoBloque) {
+			long inicio = posicion;
+			tareas.add(pool.submit(() -> buscarSeparador(inicio, size)));
+		}
+
+		val limites = new TreeSet<Long>();
+		limites.add(0L);
+		for (val tarea : tareas) {
+			limites.add(tarea.join());
+		}
+		limites.add(size);
+		return new ArrayList<>(limites);
+	}
+
+	private long buscarSeparador(long posicion, long size) {
+		val buffer = ByteBuffer.allocate(TAMANO_BUSQUEDA);
+		try {
+			while (posicion < size) {
+				buffer.clear();
+				int n = channel.read(buffer, posicion);
+				if (n <= 0) {
+					break;
+				}
+				for (int i = 0; i < n; i++) {
+					if (buffer.get(i) == SEPARADOR_REGISTROS) {
+						return posicion + i + 1;
+					}
+				}
+				posicion += n;
+			}
+			return size;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private List<String> split(long inicio, long fin, Function<String, String> transformacion) {
+		val result = new ArrayList<String>();
+		if (inicio >= fin) {
+			return result;
+		}
+
+		CharBuffer buffer;
+		try {
+			val bytes = channel.map(MapMode.READ_ONLY, inicio, fin - inicio);
+			// @formatter:off
+			buffer = charset.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE)
+					.decode(bytes);
+			// @formatter:on
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		val chars = new char[buffer.remaining()];
+		buffer.get(chars);
+		int n;
+		if (normalizer != null) {
+			n = normalizer.normalizar(chars, chars.length);
+		} else {
+			n = CharsetDetectorFileReader.limpiar(chars, chars.length);
+		}
+
+		int desde = 0;
+		for (int i = 0; i < n; i++) {
+			if (chars[i] == SEPARADOR_REGISTROS) {
+				agregar(result, chars, desde, i, transformacion);
+				desde = i + 1;
+			}
+		}
+		if (desde < n) {
+			agregar(result, chars, desde, n, transformacion);
+		}
+		return result;
+	}
+
+	private void agregar(List<String> result, char[] chars, int desde, int hasta, Function<String, String> transformacion) {
+		if (hasta > desde && chars[hasta - 1] == '\r') {
+			hasta--;
+		}
+
+		String linea = new String(chars, desde, hasta - desde);
+		if (normalizer != null) {
+			linea = normalizer.normalizarLinea(linea);
+		}
+
+		linea = transformacion.apply(linea);
+		if (linea != null) {
+			result.add(linea);
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+public interface ParallelReader extends StreamingReader {
+	List<String> readLines(final Path input, final Function<String, String> transformacion) throws IOException;
+}
@@ -0,0 +1,115 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.egakat.core.domain.IdentifiedDomainObject;
+import com.egakat.integration.commons.archivos.dto.DatosRegistro;
+import com.egakat.integration.commons.archivos.dto.IndiceCampos;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.core.files.components.writers.SpillWriter;
+
+import lombok.val;
+
+/**
+ * Lee los registros escritos por {@link SpillWriter}, con sus datos ya divididos
+ * en campos, para procesarlos de nuevo sin volver a leer ni dividir el archivo
+ * original.
+ *
+ * El volcado no guarda la linea original, por lo que los registros se
+ * reconstruyen con su número de linea y una linea vacia.
+ */
+public class SpillReader implements Closeable {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final DataInputStream in;
+
+	private final List<String> campos;
+
+	public SpillReader(Path origen) throws IOException {
+		this.in = new DataInputStream(
+				new BufferedInputStream(new GZIPInputStream(Files.newInputStream(origen), BUFFER_SIZE), BUFFER_SIZE));
+		try {
+			if (in.readInt() != SpillWriter.MAGIC) {
+				throw new IOException("El archivo " + origen.getFileName() + " no es un volcado de registros valido");
+			}
+
+			short version = in.readShort();
+			if (version != SpillWriter.VERSION) {
+				throw new IOException("Versión de volcado de registros no soportada: " + version);
+			}
+
+			int n = in.readInt();
+			val list = new ArrayList<String>(n);
+			for (int i = 0; i < n; i++) {
+				list.add(readText());
+			}
+			this.campos = Collections.unmodifiableList(list);
+		} catch (IOException | RuntimeException e) {
+			in.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return Los códigos de los campos del volcado, en el orden en que se
+	 *         escribieron los valores de cada registro.
+	 */
+	public List<String> getCampos() {
+		return campos;
+	}
+
+	/**
+	 * @param indice El indice de los campos del tipo de archivo con el que se
+	 *               construyen los datos del registro.
+	 * @return El siguiente registro, o null al llegar al final del archivo.
+	 */
+	public <T extends IdentifiedDomainObject<ID>, ID> RegistroDto<T, ID> read(IndiceCampos indice)
+			throws IOException {
+		try {
+			in.readInt();
+		} catch (EOFException e) {
+			return null;
+		}
+
+		int numeroLinea = in.readInt();
+		val datos = new DatosRegistro(indice);
+		for (val campo : campos) {
+			val value = readText();
+			if (value != null) {
+				datos.put(campo, value);
+			}
+		}
+
+		val result = new RegistroDto<T, ID>(numeroLinea, "");
+		result.setDatos(datos);
+		return result;
+	}
+
+	private String readText() throws IOException {
+		int n = in.readInt();
+		if (n < 0) {
+			return null;
+		}
+
+		val bytes = new byte[n];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
@@ -0,0 +1,9 @@
+package com.egakat.integration.core.files.components.readers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+public interface StreamingReader extends Reader {
+	void read(final Path input, final Consumer<String> registros) throws IOException;
+}
@@ -0,0 +1,125 @@
+package com.egakat.integration.core.files.components.readers;
+
+/**
+ * Normalización del texto aplicada por el lector a medida que decodifica el
+ * archivo, en lugar de recorrer el contenido completo una vez por cada
+ * normalización. Sobre cada bloque de caracteres se eliminan los caracteres BOM
+ * y de reemplazo y, si aplica, se convierte a mayúsculas en el mismo arreglo.
+ * Sobre cada linea se elimina, si aplica, la función T() de Excel.
+ *
+ * La conversión a mayúsculas se hace caracter por caracter, por lo que no
+ * cambia la longitud del texto.
+ */
+public class TextNormalizer {
+
+	private static final String INICIO_FUNCION_T = "=T(\"";
+
+	private static final String FIN_FUNCION_T = "\")";
+
+	private final boolean mayusculas;
+
+	private final boolean limpiarFuncionT;
+
+	public TextNormalizer(boolean mayusculas, boolean limpiarFuncionT) {
+		this.mayusculas = mayusculas;
+		this.limpiarFuncionT = limpiarFuncionT;
+	}
+
+	public boolean isMayusculas() {
+		return mayusculas;
+	}
+
+	public boolean isLimpiarFuncionT() {
+		return limpiarFuncionT;
+	}
+
+	/**
+	 * Normaliza un bloque de caracteres compactando el arreglo en el mismo lugar.
+	 *
+	 * @return El número de caracteres validos que quedan al inicio del arreglo.
+	 */
+	public int normalizar(char[] chars, int length) {
+		int j = 0;
+		for (int i = 0; i < length; i++) {
+			char c = chars[i];
+			if (c != CharsetDetectorFileReader.BYTE_ORDER_MARK && c != CharsetDetectorFileReader.REPLACEMENT_CHARACTER) {
+				chars[j++] = mayusculas ? Character.toUpperCase(c) : c;
+			}
+		}
+		return j;
+	}
+
+	public void normalizarLinea(StringBuilder linea) {
+		if (limpiarFuncionT) {
+			limpiarFuncionT(linea);
+		}
+	}
+
+	public String normalizarLinea(String linea) {
+		if (limpiarFuncionT) {
+			return limpiarFuncionT(linea);
+		}
+		return linea;
+	}
+
+	public static String limpiarFuncionT(String linea) {
+		if (!contieneFuncionT(linea)) {
+			return linea;
+		}
+
+		StringBuilder sb = new StringBuilder(linea);
+		limpiarFuncionT(sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Si la linea contiene una función T("...") elimina, en un solo recorrido, las
+	 * marcas de inicio =T(" y de fin ") de la linea.
+	 */
+	public static void limpiarFuncionT(StringBuilder linea) {
+		if (!contieneFuncionT(linea)) {
+			return;
+		}
+
+		int n = linea.length();
+		int j = 0;
+		int i = 0;
+		while (i < n) {
+			if (coincide(linea, i, INICIO_FUNCION_T)) {
+				i += INICIO_FUNCION_T.length();
+			} else if (coincide(linea, i, FIN_FUNCION_T)) {
+				i += FIN_FUNCION_T.length();
+			} else {
+				linea.setCharAt(j++, linea.charAt(i++));
+			}
+		}
+		linea.setLength(j);
+	}
+
+	private static boolean contieneFuncionT(CharSequence linea) {
+		int inicio = indexOf(linea, INICIO_FUNCION_T, 0);
+		return inicio != -1 && indexOf(linea, FIN_FUNCION_T, inicio + INICIO_FUNCION_T.length()) != -1;
+	}
+
+	private static int indexOf(CharSequence s, String patron, int desde) {
+		int n = s.length() - patron.length();
+		for (int i = desde; i <= n; i++) {
+			if (coincide(s, i, patron)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean coincide(CharSequence s, int i, String patron) {
+		if (i + patron.length() > s.length()) {
+			return false;
+		}
+		for (int k = 0; k < patron.length(); k++) {
+			if (s.charAt(i + k) != patron.charAt(k)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,92 @@
+package com.egakat.integration.core.files.components.writers;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
+import com.egakat.integration.core.files.components.readers.SpillReader;
+
+/**
+ * Escribe registros ya divididos en campos en un formato binario compacto,
+ * comprimido con gzip igual que el volcado de texto.
+ * 
+ * <pre>
+ * encabezado: MAGIC(int) VERSION(short) numeroCampos(int) codigoCampo(texto)...
+ * registro:   longitud(int) numeroLinea(int) valor(texto)...
+ * texto:      longitud en bytes(int, -1 para null) bytes UTF-8
+ * </pre>
+ * 
+ * Los valores de cada registro se escriben en el orden de los campos del
+ * encabezado y la longitud que precede a cada registro permite saltarlo sin
+ * decodificarlo. La linea original no se escribe, solo sus valores. Los
+ * registros se leen de nuevo con {@link SpillReader}.
+ */
+public class SpillWriter implements Closeable {
+
+	public static final int MAGIC = 0x45474B53;
+
+	public static final short VERSION = 2;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final List<String> campos;
+
+	private final DataOutputStream out;
+
+	private final ByteArrayOutputStream bytesRegistro = new ByteArrayOutputStream(1024);
+
+	private final DataOutputStream registro = new DataOutputStream(bytesRegistro);
+
+	public SpillWriter(Path destino, List<String> campos) throws IOException {
+		this.campos = new ArrayList<>(campos);
+		this.out = new DataOutputStream(
+				new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(destino), BUFFER_SIZE), BUFFER_SIZE));
+
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeInt(this.campos.size());
+		for (String campo : this.campos) {
+			writeText(out, campo);
+		}
+	}
+
+	public void write(RegistroDto<?, ?> dto) throws IOException {
+		bytesRegistro.reset();
+
+		Map<String, String> datos = dto.getDatos();
+		registro.writeInt(dto.getNumeroLinea());
+		for (String campo : campos) {
+			writeText(registro, datos.get(campo));
+		}
+		registro.flush();
+
+		out.writeInt(bytesRegistro.size());
+		bytesRegistro.writeTo(out);
+	}
+
+	private static void writeText(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
@@ -1,5 +1,6 @@
 package com.egakat.integration.core.files.service.api;
 
+import java.nio.file.Path;
 import java.util.List;
 
 import com.egakat.integration.commons.archivos.domain.Registro;
@@ -11,4 +12,6 @@ public interface InputService<T extends Registro> {
 	List<Long> getArchivosPendientes();
 
 	void extraer(long archivoId);
+
+	void reprocesar(long archivoId, Path volcado);
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.egakat.integration.core.files.service.impl;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.egakat.integration.commons.archivos.domain.Registro;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
+import com.egakat.integration.core.files.components.FieldTokenizer;
+import com.egakat.integration.core.files.components.decorators.CamposAnchoFijoSplitterDecorator;
+import com.egakat.integration.core.files.components.decorators.CamposAnchoFijoSplitterStage;
+import com.egakat.integration.core.files.components.decorators.Decorator;
+import com.egakat.integration.core.files.components.decorators.DummyDecorator;
+import com.egakat.integration.core.files.components.decorators.DummyStage;
+import com.egakat.integration.core.files.components.decorators.Stage;
+
+import lombok.val;
+
+/**
+ * Servicio base para archivos planos de ancho fijo. Los campos se ubican por su
+ * posición y longitud, por lo que no hay encabezado ni separador de campos.
+ */
+public abstract class ArchivoAnchoFijoInputServiceImpl<T extends Registro> extends ArchivoPlanoInputServiceImpl<T> {
+
+	public ArchivoAnchoFijoInputServiceImpl() {
+		super();
+	}
+
+	@Override
+	protected boolean isStreaming() {
+		return true;
+	}
+
+	@Override
+	protected FieldTokenizer getSeparadorCampos(EtlRequestDto<T, Long> request) {
+		return null;
+	}
+
+	@Override
+	protected String normalizarLinea(String linea, FieldTokenizer separadorCampos) {
+		if (StringUtils.isBlank(linea)) {
+			return null;
+		}
+
+		if (isNormalizadoEnLectura()) {
+			return linea;
+		}
+
+		// String.toUpperCase puede cambiar la longitud de la linea (ß -> SS), lo que
+		// desplazaria los campos siguientes
+		val chars = linea.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toUpperCase(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	@Override
+	protected Decorator<T, Long> getCamposSplitterDecorator(Decorator<T, Long> inner) {
+		return new CamposAnchoFijoSplitterDecorator<T, Long>(inner);
+	}
+
+	@Override
+	protected Decorator<T, Long> getCheckNumeroDeColumnasDecorator(Decorator<T, Long> inner) {
+		return new DummyDecorator<T, Long>(inner);
+	}
+
+	@Override
+	protected Stage<T, Long> getCamposSplitterStage(Stage<T, Long> next) {
+		return new CamposAnchoFijoSplitterStage<T, Long>(next);
+	}
+
+	@Override
+	protected Stage<T, Long> getCheckNumeroDeColumnasStage(Stage<T, Long> next) {
+		return new DummyStage<T, Long>(next);
+	}
+}
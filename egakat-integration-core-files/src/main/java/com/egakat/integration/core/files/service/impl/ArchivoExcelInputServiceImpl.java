@@ -1,26 +1,48 @@
 package com.egakat.integration.core.files.service.impl;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.egakat.integration.commons.archivos.domain.Registro;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.readers.ExcelWorkSheetReader;
 import com.egakat.integration.core.files.components.readers.Reader;
 
+import lombok.val;
+
 public abstract class ArchivoExcelInputServiceImpl<T extends Registro> extends InputServiceImpl<T> {
 
 	@Autowired
-	private ExcelWorkSheetReader reader;
+	private ObjectProvider<ExcelWorkSheetReader> readers;
 
 	public ArchivoExcelInputServiceImpl() {
 		super();
 	}
 
+	/**
+	 * @return Una instancia nueva del lector en cada llamada, de modo que los
+	 *         archivos que se procesan al mismo tiempo no comparten la
+	 *         configuración.
+	 */
 	@Override
 	protected Reader getReader() {
-		if (this.reader.getWorkSheetName() == null) {
-			this.reader.setWorkSheetName(getWorkSheetName());
+		val result = readers.getObject();
+		result.setWorkSheetName(getWorkSheetName());
+		return result;
+	}
+
+	/**
+	 * Configura el lector de {@link #getReader()} con los parametros del tipo de
+	 * archivo. Si una subclase retorna otro tipo de lector, se usa sin cambios.
+	 */
+	@Override
+	protected Reader getReader(EtlRequestDto<T, Long> request) {
+		val result = getReader();
+		if (result instanceof ExcelWorkSheetReader) {
+			((ExcelWorkSheetReader) result).setPatronEntradaComprimido(
+					request.getTipoArchivo().getPatronEntradaComprimido());
 		}
-		return reader;
+		return result;
 	}
 
 	abstract protected String getWorkSheetName();
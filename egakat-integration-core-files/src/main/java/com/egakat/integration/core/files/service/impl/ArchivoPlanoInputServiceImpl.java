@@ -1,23 +1,94 @@
 package com.egakat.integration.core.files.service.impl;
 
+import org.apache.commons.lang3.Validate;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.egakat.integration.commons.archivos.domain.Registro;
+import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.readers.CharsetDetectorFileReader;
 import com.egakat.integration.core.files.components.readers.Reader;
+import com.egakat.integration.core.files.components.readers.TextNormalizer;
+
+import lombok.val;
 
 public abstract class ArchivoPlanoInputServiceImpl<T extends Registro>
 		extends InputServiceImpl<T> {
 
+	private static final String SALTO_DE_LINEA = "\n";
+
+	private static final String RETORNO_Y_SALTO_DE_LINEA = "\r\n";
+
 	@Autowired
-	protected CharsetDetectorFileReader reader;
+	private ObjectProvider<CharsetDetectorFileReader> readers;
 
 	public ArchivoPlanoInputServiceImpl() {
 		super();
 	}
 
+	/**
+	 * @return Una instancia nueva del lector en cada llamada, de modo que los
+	 *         archivos que se procesan al mismo tiempo no comparten la
+	 *         configuración.
+	 */
 	@Override
 	protected Reader getReader() {
+		return readers.getObject();
+	}
+
+	/**
+	 * Configura el lector de {@link #getReader()} con los parametros del tipo de
+	 * archivo. Si una subclase retorna otro tipo de lector, se usa sin cambios.
+	 */
+	@Override
+	protected Reader getReader(EtlRequestDto<T, Long> request) {
+		if (isStreaming() || isProcesamientoPorRegistro()) {
+			validarSeparadorRegistros(request);
+		}
+
+		val result = getReader();
+		if (!(result instanceof CharsetDetectorFileReader)) {
+			return result;
+		}
+
+		val reader = (CharsetDetectorFileReader) result;
+		reader.setTipoArchivo(request.getTipoArchivo().getCodigo());
+		reader.setPatronEntradaComprimido(request.getTipoArchivo().getPatronEntradaComprimido());
+		reader.setNormalizer(getNormalizer(request));
+
+		Integer tamanoMuestraCharset = request.getTipoArchivo().getTamanoMuestraCharset();
+		if (tamanoMuestraCharset != null && tamanoMuestraCharset > 0) {
+			reader.setTamanoMuestraCharset(tamanoMuestraCharset);
+		}
 		return reader;
 	}
+
+	/**
+	 * El lector separa los registros por saltos de linea, descartando el retorno
+	 * de carro previo, y no por el separador configurado en el tipo de archivo.
+	 * Con otro separador todo el archivo quedaria en un solo registro, por lo que
+	 * el archivo se rechaza.
+	 */
+	protected void validarSeparadorRegistros(EtlRequestDto<T, Long> request) {
+		val separador = request.getUnescapedSeparadorRegistros();
+		String format = "La lectura linea por linea requiere que el separador de registros del tipo de archivo %s sea un salto de linea.";
+		Validate.isTrue(SALTO_DE_LINEA.equals(separador) || RETORNO_Y_SALTO_DE_LINEA.equals(separador), format,
+				request.getTipoArchivo().getCodigo());
+	}
+
+	@Override
+	protected boolean isNormalizadoEnLectura() {
+		return true;
+	}
+
+	/**
+	 * Si el tipo de archivo no indica lo contrario, el texto se convierte a
+	 * mayusculas y la función T() se conserva.
+	 */
+	protected TextNormalizer getNormalizer(EtlRequestDto<T, Long> request) {
+		val tipoArchivo = request.getTipoArchivo();
+		boolean mayusculas = !Boolean.FALSE.equals(tipoArchivo.getConvertirMayusculas());
+		boolean limpiarFuncionT = Boolean.TRUE.equals(tipoArchivo.getLimpiarFuncionT());
+		return new TextNormalizer(mayusculas, limpiarFuncionT);
+	}
 }
\ No newline at end of file
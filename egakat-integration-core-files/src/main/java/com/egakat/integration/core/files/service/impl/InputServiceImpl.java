@@ -5,56 +5,178 @@ import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPOutputStream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.poi.ss.formula.functions.T;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.egakat.integration.commons.archivos.domain.Registro;
 import com.egakat.integration.commons.archivos.dto.ArchivoErrorDto;
+import com.egakat.integration.commons.archivos.dto.RegistroDto;
 import com.egakat.integration.commons.archivos.enums.EstadoArchivoType;
 import com.egakat.integration.commons.archivos.repository.RegistroRepository;
 import com.egakat.integration.commons.archivos.service.api.ArchivoCrudService;
 import com.egakat.integration.config.archivos.dto.EtlRequestDto;
 import com.egakat.integration.core.files.components.Constantes;
+import com.egakat.integration.core.files.components.FieldTokenizer;
+import com.egakat.integration.core.files.components.checkers.ResultadoCheck;
 import com.egakat.integration.core.files.components.decorators.CamposSplitterDecorator;
+import com.egakat.integration.core.files.components.decorators.CamposSplitterStage;
+import com.egakat.integration.core.files.components.decorators.CargarStage;
 import com.egakat.integration.core.files.components.decorators.CheckNumeroDeColumnasDecorator;
+import com.egakat.integration.core.files.components.decorators.CheckNumeroDeColumnasStage;
 import com.egakat.integration.core.files.components.decorators.CheckRegistrosDuplicadosDecorator;
+import com.egakat.integration.core.files.components.decorators.CheckRegistrosDuplicadosStage;
 import com.egakat.integration.core.files.components.decorators.CheckRestriccionesDeCamposDecorator;
+import com.egakat.integration.core.files.components.decorators.CheckRestriccionesDeCamposStage;
 import com.egakat.integration.core.files.components.decorators.Decorator;
 import com.egakat.integration.core.files.components.decorators.DummyDecorator;
+import com.egakat.integration.core.files.components.decorators.DummyStage;
 import com.egakat.integration.core.files.components.decorators.IncluirCamposDecorator;
+import com.egakat.integration.core.files.components.decorators.IncluirCamposStage;
 import com.egakat.integration.core.files.components.decorators.LineasSplitterDecorator;
+import com.egakat.integration.core.files.components.decorators.MapEntidadDecorator;
+import com.egakat.integration.core.files.components.decorators.MapEntidadStage;
 import com.egakat.integration.core.files.components.decorators.MayusculasDecorator;
+import com.egakat.integration.core.files.components.decorators.MedicionDecorator;
 import com.egakat.integration.core.files.components.decorators.NormalizarSeparadoresDeRegistroDecorator;
+import com.egakat.integration.core.files.components.decorators.PerfilProcesamiento;
+import com.egakat.integration.core.files.components.decorators.PresupuestoErrores;
+import com.egakat.integration.core.files.components.decorators.Stage;
+import com.egakat.integration.core.files.components.decorators.VolcadoBinarioDecorator;
+import com.egakat.integration.core.files.components.decorators.VolcadoBinarioStage;
+import com.egakat.integration.core.files.components.readers.CompressedFile;
+import com.egakat.integration.core.files.components.readers.DigestReader;
+import com.egakat.integration.core.files.components.readers.ParallelReader;
 import com.egakat.integration.core.files.components.readers.Reader;
+import com.egakat.integration.core.files.components.readers.SpillReader;
+import com.egakat.integration.core.files.components.readers.StreamingReader;
 import com.egakat.integration.core.files.exceptions.EtlRuntimeException;
 import com.egakat.integration.core.files.service.api.InputService;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public abstract class InputServiceImpl<T extends Registro> implements InputService<T> {
 
+	private static final String EXTENSION_DUMP_COMPRIMIDO = ".GZ";
+
+	private static final String EXTENSION_DUMP_BINARIO = ".BIN";
+
+	private static final String ALGORITMO_HASH = "SHA-256";
+
+	private static final int TAMANO_LOTE = 1000;
+
+	private static final int BUFFER_SIZE_HASH = 64 * 1024;
+
 	@Autowired
 	private RequestService<T> requestService;
 
 	@Autowired
 	private ArchivoCrudService archivoService;
 
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired(required = false)
+	private MeterRegistry meterRegistry;
+
 	abstract protected Reader getReader();
 
+	protected Reader getReader(EtlRequestDto<T, Long> request) {
+		return getReader();
+	}
+
 	abstract protected RegistroRepository<T> getRepository();
 
+	/**
+	 * Si es true, el lector entrega el archivo linea por linea y cada linea se
+	 * convierte en un registro durante la lectura, sin construir el texto completo
+	 * del archivo. Todos los registros se siguen acumulando en
+	 * {@link EtlRequestDto#getRegistros()} antes de la transformación, por lo que
+	 * el consumo de memoria sigue dependiendo del tamaño del archivo; solo
+	 * {@link #isProcesamientoPorRegistro()} lo acota.
+	 */
+	protected boolean isStreaming() {
+		return false;
+	}
+
+	/**
+	 * Si es true, el lector ya eliminó los retornos de carro y las lineas vacias y
+	 * aplicó las normalizaciones configuradas para el tipo de archivo mientras
+	 * decodificaba el texto, por lo que no se vuelven a aplicar sobre los datos
+	 * leidos.
+	 */
+	protected boolean isNormalizadoEnLectura() {
+		return false;
+	}
+
+	/**
+	 * Si es true, en lugar del volcado de texto de los datos leidos se vuelcan los
+	 * registros ya divididos en campos en formato binario; si la división falla se
+	 * realiza el volcado de texto. En el procesamiento por registro el volcado se
+	 * escribe a medida que se dividen los registros. El volcado binario se puede
+	 * procesar de nuevo con {@link #reprocesar(long, Path)}. Ver
+	 * {@link VolcadoBinarioDecorator} y {@link VolcadoBinarioStage}.
+	 */
+	protected boolean isVolcadoBinario() {
+		return false;
+	}
+
+	/**
+	 * Si es true, cada registro recorre la división, las validaciones, el mapeo y
+	 * la inserción a medida que se lee, en lugar de pasar el archivo completo por
+	 * la cadena de decoradores. El consumo de memoria queda acotado por
+	 * {@link #getTamanoLote()} y no por el tamaño del archivo. Requiere un lector
+	 * {@link StreamingReader}.
+	 */
+	protected boolean isProcesamientoPorRegistro() {
+		return false;
+	}
+
+	protected int getTamanoLote() {
+		return TAMANO_LOTE;
+	}
+
+	/**
+	 * Si es true, el perfil de procesamiento del archivo incluye los bytes
+	 * asignados por cada etapa. Ver {@link PerfilProcesamiento}.
+	 */
+	protected boolean isMedirAsignaciones() {
+		return false;
+	}
+
 	@Override
 	public List<Long> getArchivosPendientes() {
 		val result = archivoService.findAllIdByTipoArchivoCodigoAndEstadoIn(getTipoArchivoCodigo(),
@@ -71,11 +193,17 @@ public abstract class InputServiceImpl<T extends Registro> implements InputServi
 		val errores = new ArrayList<ArchivoErrorDto>();
 
 		EtlRequestDto<T, Long> request = requestService.buildRequest(archivo);
+		val perfil = new PerfilProcesamiento(isMedirAsignaciones());
 		boolean error = false;
 		try {
-			request = extraer(request);
-			request = transformar(request);
-			request = cargar(request);
+			if (isProcesamientoPorRegistro()) {
+				request = medir(perfil, "procesarPorRegistro", this::procesarPorRegistro, request, result -> -1);
+			} else {
+				request = medir(perfil, "extraer", this::extraer, request, result -> result.getRegistros().size());
+				request = medir(perfil, "transformar", r -> transformar(r, perfil), request,
+						result -> result.getRegistros().size());
+				request = medir(perfil, "cargar", this::cargar, request, result -> result.getRegistros().size());
+			}
 		} catch (EtlRuntimeException e) {
 			error = true;
 			errores.addAll(e.getErrores());
@@ -89,33 +217,236 @@ public abstract class InputServiceImpl<T extends Registro> implements InputServi
 				backupError(request);
 			}
 		}
+		registrarResultados(request, perfil, errores);
+	}
+
+	/**
+	 * Procesa de nuevo el archivo a partir de su volcado binario (.BIN.GZ), sin
+	 * volver a leer ni dividir el archivo original. Los registros del volcado ya
+	 * tienen sus datos divididos en campos, por lo que continuan desde la inclusión
+	 * de campos hasta la carga. El archivo original no se mueve.
+	 */
+	@Override
+	public void reprocesar(long archivoId, Path volcado) {
+		val archivo = archivoService.findOneById(archivoId);
+		val errores = new ArrayList<ArchivoErrorDto>();
+
+		EtlRequestDto<T, Long> request = requestService.buildRequest(archivo);
+		val perfil = new PerfilProcesamiento(isMedirAsignaciones());
+		try {
+			request = medir(perfil, "leerVolcado", r -> leerVolcado(r, volcado), request,
+					result -> result.getRegistros().size());
+			request = medir(perfil, "transformar",
+					r -> MedicionDecorator.medir(getTransformador(new DummyDecorator<>()), perfil).transformar(r),
+					request, result -> result.getRegistros().size());
+			request = medir(perfil, "cargar", this::cargar, request, result -> result.getRegistros().size());
+		} catch (EtlRuntimeException e) {
+			errores.addAll(e.getErrores());
+		} catch (RuntimeException e) {
+			errores.add(ArchivoErrorDto.error(archivoId, e, 0, ""));
+		}
+		registrarResultados(request, perfil, errores);
+	}
+
+	protected EtlRequestDto<T, Long> leerVolcado(EtlRequestDto<T, Long> request, Path volcado) {
+		Validate.notNull(volcado, Constantes.VALOR_NO_PUEDE_SER_NULO + "volcado");
+		Validate.isTrue(Files.exists(volcado), Constantes.NO_SE_ENCONTRO_EL_ARCHIVO + volcado.toString());
+
+		val indice = Decorator.getIndiceCampos(request.getCampos());
+		val registros = request.getRegistros();
+		registros.clear();
+
+		try (SpillReader reader = new SpillReader(volcado)) {
+			RegistroDto<T, Long> registro;
+			while ((registro = reader.read(indice)) != null) {
+				registros.add(registro);
+			}
+		} catch (IOException e) {
+			log.error(Constantes.ERROR_LECTURA_ARCHIVO, volcado.getFileName().toString(), e.getMessage());
+			throw new EtlRuntimeException(request.getArchivo().getId(), e.getMessage(), e);
+		}
+		return request;
+	}
+
+	private void registrarResultados(EtlRequestDto<T, Long> request, PerfilProcesamiento perfil,
+			List<ArchivoErrorDto> errores) {
+		registrarPerfil(request, perfil);
+
+		ResultadoCheck.formatear(errores);
 		archivoService.registrarResultadosValidacionEstructura(request.getArchivo(), errores);
 	}
 
+	protected EtlRequestDto<T, Long> medir(PerfilProcesamiento perfil, String etapa,
+			UnaryOperator<EtlRequestDto<T, Long>> operacion, EtlRequestDto<T, Long> request,
+			ToIntFunction<EtlRequestDto<T, Long>> registros) {
+		return perfil.medir(etapa, () -> operacion.apply(request), registros);
+	}
+
+	/**
+	 * Publica el perfil en los medidores de Micrometer, si hay un registro de
+	 * medidores configurado, y lo guarda con el estado del archivo. Un error al
+	 * registrar el perfil no afecta el resultado del archivo.
+	 */
+	protected void registrarPerfil(EtlRequestDto<T, Long> request, PerfilProcesamiento perfil) {
+		try {
+			perfil.publicar(meterRegistry, getTipoArchivoCodigo());
+			request.getArchivo().setPerfil(perfil.toJson());
+		} catch (RuntimeException e) {
+			log.warn("No fue posible registrar el perfil de procesamiento del archivo {}: {}",
+					request.getArchivo().getId(), e.getMessage());
+		}
+	}
+
 	// -----------------------------------------------------------------------------------------------------------
 	// -- EXTRAER
 	// -----------------------------------------------------------------------------------------------------------
 	protected EtlRequestDto<T, Long> extraer(EtlRequestDto<T, Long> request) {
 		Validate.notNull(request, Constantes.VALOR_NO_PUEDE_SER_NULO + "request");
-		Validate.notNull(getReader(), Constantes.VALOR_NO_PUEDE_SER_NULO + "getReader()");
+
+		val reader = this.getReader(request);
+		Validate.notNull(reader, Constantes.VALOR_NO_PUEDE_SER_NULO + "getReader()");
 
 		Path path = request.getPathRuta();
 		Validate.notNull(path, Constantes.VALOR_NO_PUEDE_SER_NULO + "request.getPathRuta()");
 		Validate.isTrue(Files.exists(path), Constantes.NO_SE_ENCONTRO_EL_ARCHIVO + path.toString());
 
 		try {
-			val datos = this.getReader().read(path);
-			request.setDatos(datos);
+			val digest = iniciarDigest(reader);
+			if (isStreaming() && reader instanceof StreamingReader) {
+				extraerRegistros(request, (StreamingReader) reader, path);
+			} else {
+				val datos = reader.read(path);
+				request.setDatos(datos);
+			}
+			verificarDuplicado(request, path, terminarDigest(reader, digest, request, path));
 
-			dump(request);
+			if (!isVolcadoBinario()) {
+				dump(request);
+			}
 
 			return request;
+		} catch (EtlRuntimeException e) {
+			throw e;
 		} catch (IOException | RuntimeException e) {
 			log.error(Constantes.ERROR_LECTURA_ARCHIVO, path.getFileName().toString(), e.getMessage());
 			throw new EtlRuntimeException(request.getArchivo().getId(), e.getMessage(), e);
 		}
 	}
 
+	/**
+	 * Si un archivo identico del mismo tipo ya fue procesado, el archivo se
+	 * rechaza antes de validarlo y cargarlo. El hash se calcula sobre el contenido
+	 * descomprimido del archivo en la misma lectura que lo procesa, o con una
+	 * lectura adicional si el lector no lo permite o si, como en el procesamiento
+	 * por registro, los registros se validan a medida que se leen.
+	 */
+	protected void verificarDuplicado(EtlRequestDto<T, Long> request, Path path, String hash) {
+		val archivo = request.getArchivo();
+		archivo.setHash(hash);
+
+		if (archivoService.existeDuplicado(archivo)) {
+			String format = "El archivo %s es identico a un archivo que ya fue procesado.";
+			throw new EtlRuntimeException(archivo.getId(), String.format(format, path.getFileName()));
+		}
+	}
+
+	private MessageDigest iniciarDigest(Reader reader) {
+		if (!(reader instanceof DigestReader)) {
+			return null;
+		}
+
+		val result = newDigest();
+		((DigestReader) reader).setDigest(result);
+		return result;
+	}
+
+	private String terminarDigest(Reader reader, MessageDigest digest, EtlRequestDto<T, Long> request, Path path)
+			throws IOException {
+		if (digest == null) {
+			return calcularHash(request, path);
+		}
+
+		((DigestReader) reader).setDigest(null);
+		return toHex(digest);
+	}
+
+	protected String calcularHash(EtlRequestDto<T, Long> request, Path path) throws IOException {
+		val digest = newDigest();
+		val buffer = new byte[BUFFER_SIZE_HASH];
+		val patron = request.getTipoArchivo().getPatronEntradaComprimido();
+		try (InputStream in = new DigestInputStream(CompressedFile.open(path, patron), digest)) {
+			while (in.read(buffer) != -1) {
+				// El digest se actualiza a medida que se lee el archivo
+			}
+		}
+		return toHex(digest);
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(ALGORITMO_HASH);
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static String toHex(MessageDigest digest) {
+		return String.format("%064x", new BigInteger(1, digest.digest()));
+	}
+
+	protected void extraerRegistros(EtlRequestDto<T, Long> request, StreamingReader reader, Path path)
+			throws IOException {
+		val separador = getSeparadorCampos(request);
+		val registros = request.getRegistros();
+		registros.clear();
+
+		if (reader instanceof ParallelReader) {
+			val lineas = ((ParallelReader) reader).readLines(path, linea -> normalizarLinea(linea, separador));
+			for (val linea : lineas) {
+				registros.add(new RegistroDto<T, Long>(registros.size(), linea));
+			}
+		} else {
+			reader.read(path, linea -> {
+				val registro = normalizarLinea(linea, separador);
+				if (registro != null) {
+					registros.add(new RegistroDto<T, Long>(registros.size(), registro));
+				}
+			});
+		}
+	}
+
+	/**
+	 * @return El separador de campos del tipo de archivo, resuelto una sola vez
+	 *         por archivo, con el que {@link #normalizarLinea(String, FieldTokenizer)}
+	 *         descarta las lineas que solo contienen separadores, o null si los
+	 *         campos no se separan con un separador.
+	 */
+	protected FieldTokenizer getSeparadorCampos(EtlRequestDto<T, Long> request) {
+		val separadorCampos = request.getRegExpSeparadorCampos();
+		Validate.notEmpty(separadorCampos, Constantes.VALOR_NO_PUEDE_SER_UNA_CADENA_VACIA + "separadorCampos");
+		return FieldTokenizer.of(separadorCampos);
+	}
+
+	/**
+	 * @return La linea en mayusculas, o null si la linea esta vacia o solo
+	 *         contiene separadores de campos. Si el texto se normalizó durante la
+	 *         lectura, la linea se retorna sin cambios.
+	 */
+	protected String normalizarLinea(String linea, FieldTokenizer separadorCampos) {
+		if (StringUtils.isEmpty(linea)) {
+			return null;
+		}
+
+		if (separadorCampos != null && separadorCampos.isVacia(linea)) {
+			return null;
+		}
+
+		if (isNormalizadoEnLectura()) {
+			return linea;
+		}
+		return linea.toUpperCase();
+	}
+
 	protected void dump(EtlRequestDto<T, Long> request) {
 		Validate.notNull(request, Constantes.VALOR_NO_PUEDE_SER_NULO + "request");
 		Validate.notNull(request.getDirectorio(), Constantes.VALOR_NO_PUEDE_SER_NULO + "request.getDirectorio()");
@@ -125,41 +456,109 @@ public abstract class InputServiceImpl<T extends Registro> implements InputServi
 			Validate.notNull(origen, Constantes.VALOR_NO_PUEDE_SER_NULO + "request.getPathRuta()");
 			Validate.isTrue(Files.exists(origen), Constantes.NO_SE_ENCONTRO_EL_ARCHIVO + origen.toString());
 
-			val now = LocalDateTime.now();
-			Path destino = Paths.get(request.getSubdirectorioDump());
-			destino = destino.resolve(getDirectorioBackup(now));
-			destino = destino.resolve(getNombreArchivoBackup(origen, now) + ".TXT");
-
-			log.info("Realizando el volcado de datos del archivo {} en el archivo {}", origen.getFileName(), destino);
-
 			try {
-				dump(origen, destino, request.getDatos());
+				// El volcado de un archivo comprimido también se comprime, para no dejar una
+				// copia inflada del original
+				Path destino;
+				if (CompressedFile.isCompressed(origen)) {
+					destino = getDestinoDump(request, ".TXT" + EXTENSION_DUMP_COMPRIMIDO);
+				} else {
+					destino = getDestinoDump(request, ".TXT");
+				}
+
+				log.info("Realizando el volcado de datos del archivo {} en el archivo {}", origen.getFileName(), destino);
+
+				if (request.getDatos() != null) {
+					dump(origen, destino, request.getDatos());
+				} else {
+					dump(origen, destino, request.getRegistros());
+				}
 			} catch (IOException e) {
 				throw new EtlRuntimeException(request.getArchivo().getId(), e.getMessage(), e);
 			}
 		}
 	}
 
+	protected Path getDestinoDump(EtlRequestDto<T, Long> request, String extension) {
+		val origen = request.getPathRuta();
+		val now = LocalDateTime.now();
+
+		Path result = Paths.get(request.getSubdirectorioDump());
+		result = result.resolve(getDirectorioBackup(now));
+		result = result.resolve(getNombreArchivoBackup(origen, now) + extension);
+		return result;
+	}
+
 	protected void dump(Path origen, Path destino, String datos) throws IOException {
 		Validate.notNull(origen, Constantes.VALOR_NO_PUEDE_SER_NULO + "origen");
 		Validate.notNull(destino, Constantes.VALOR_NO_PUEDE_SER_NULO + "destino");
 		Validate.isTrue(Files.exists(origen), Constantes.NO_SE_ENCONTRO_EL_ARCHIVO + origen.toString());
 
 		crearDirectorioSiNoExiste(destino.getParent());
-		try (BufferedWriter bw = new BufferedWriter(new FileWriter(destino.toString()))) {
+		try (BufferedWriter bw = newDumpWriter(destino)) {
 			bw.write(datos);
 		}
 	}
 
+	protected void dump(Path origen, Path destino, List<RegistroDto<T, Long>> registros) throws IOException {
+		Validate.notNull(origen, Constantes.VALOR_NO_PUEDE_SER_NULO + "origen");
+		Validate.notNull(destino, Constantes.VALOR_NO_PUEDE_SER_NULO + "destino");
+		Validate.isTrue(Files.exists(origen), Constantes.NO_SE_ENCONTRO_EL_ARCHIVO + origen.toString());
+
+		crearDirectorioSiNoExiste(destino.getParent());
+		try (BufferedWriter bw = newDumpWriter(destino)) {
+			for (val registro : registros) {
+				bw.write(registro.getLinea());
+				bw.write('\n');
+			}
+		}
+	}
+
+	protected BufferedWriter newDumpWriter(Path destino) throws IOException {
+		if (destino.getFileName().toString().endsWith(EXTENSION_DUMP_COMPRIMIDO)) {
+			val out = new GZIPOutputStream(Files.newOutputStream(destino));
+			return new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+		}
+		return new BufferedWriter(new FileWriter(destino.toString()));
+	}
+
 	// -----------------------------------------------------------------------------------------------------------
 	// -- TRANSFORMAR
 	// -----------------------------------------------------------------------------------------------------------
 	protected EtlRequestDto<T, Long> transformar(EtlRequestDto<T, Long> request) {
-		val result = this.getTransformador().transformar(request);
+		return transformar(request, new PerfilProcesamiento(false));
+	}
+
+	/**
+	 * Cada decorador de la cadena de {@link #getTransformador()} se envuelve en un
+	 * {@link MedicionDecorator} que lo registra como una etapa del perfil del
+	 * archivo.
+	 */
+	protected EtlRequestDto<T, Long> transformar(EtlRequestDto<T, Long> request, PerfilProcesamiento perfil) {
+		val result = MedicionDecorator.medir(this.getTransformador(), perfil).transformar(request);
 		return result;
 	}
 
 	protected Decorator<T, Long> getTransformador() {
+		// @formatter:off
+		val result = getTransformador(
+				getVolcadoDecorator(
+				getCamposSplitterDecorator(
+				getCheckNumeroDeColumnasDecorator(
+				getLimpiarLineasDecorator(
+				getLineasDecorator()
+				)))));
+		// @formatter:on
+
+		return result;
+	}
+
+	/**
+	 * Pasos que se aplican a los registros ya divididos en campos, a partir de la
+	 * inclusión de campos. {@link #reprocesar(long, Path)} los aplica directamente
+	 * a los registros del volcado binario.
+	 */
+	protected Decorator<T, Long> getTransformador(Decorator<T, Long> registros) {
 		// @formatter:off
 		val result = getMapEntidadDecorator(
 				new CheckRegistrosDuplicadosDecorator<>(
@@ -167,15 +566,30 @@ public abstract class InputServiceImpl<T extends Registro> implements InputServi
 				getFiltrarRegistrosDecorator(
 				getEnriquecerCamposDecorator(
 				new IncluirCamposDecorator<>(
-				new CamposSplitterDecorator<>(
-				new CheckNumeroDeColumnasDecorator<>(
-				getLimpiarLineasDecorator(
-				new LineasSplitterDecorator<>(
+				registros
+				))))));
+		// @formatter:on
+
+		return result;
+	}
+
+	protected Decorator<T, Long> getLineasDecorator() {
+		if (isStreaming()) {
+			// Las lineas ya fueron separadas y normalizadas durante la lectura
+			return getIncluirEncabezadoDecorator(new DummyDecorator<>());
+		}
+
+		if (isNormalizadoEnLectura()) {
+			return new LineasSplitterDecorator<>(getIncluirEncabezadoDecorator(new DummyDecorator<>()));
+		}
+
+		// @formatter:off
+		val result = new LineasSplitterDecorator<>(
 				getIncluirEncabezadoDecorator(
 				new NormalizarSeparadoresDeRegistroDecorator<>(
 				new MayusculasDecorator<>(
 				new DummyDecorator<>()
-				)))))))))))));
+				))));
 		// @formatter:on
 
 		return result;
@@ -191,6 +605,34 @@ public abstract class InputServiceImpl<T extends Registro> implements InputServi
 		return new DummyDecorator<T, Long>(inner);
 	}
 
+	protected Decorator<T, Long> getCamposSplitterDecorator(Decorator<T, Long> inner) {
+		return new CamposSplitterDecorator<T, Long>(inner);
+	}
+
+	protected Decorator<T, Long> getVolcadoDecorator(Decorator<T, Long> inner) {
+		if (isVolcadoBinario()) {
+			// @formatter:off
+			return new VolcadoBinarioDecorator<T, Long>(
+					inner,
+					request -> getDestinoDump(request, EXTENSION_DUMP_BINARIO + EXTENSION_DUMP_COMPRIMIDO),
+					this::dump);
+			// @formatter:on
+		}
+		return new DummyDecorator<T, Long>(inner);
+	}
+
+	protected Stage<T, Long> getVolcadoStage(Stage<T, Long> next) {
+		if (isVolcadoBinario()) {
+			return new VolcadoBinarioStage<T, Long>(next,
+					request -> getDestinoDump(request, EXTENSION_DUMP_BINARIO + EXTENSION_DUMP_COMPRIMIDO));
+		}
+		return new DummyStage<T, Long>(next);
+	}
+
+	protected Decorator<T, Long> getCheckNumeroDeColumnasDecorator(Decorator<T, Long> inner) {
+		return new CheckNumeroDeColumnasDecorator<T, Long>(inner);
+	}
+
 	protected Decorator<T, Long> getLimpiarLineasDecorator(Decorator<T, Long> inner) {
 		return new DummyDecorator<T, Long>(inner);
 	}
@@ -216,6 +658,167 @@ public abstract class InputServiceImpl<T extends Registro> implements InputServi
 		return request;
 	}
 
+	// -----------------------------------------------------------------------------------------------------------
+	// -- PROCESAMIENTO POR REGISTRO
+	// -----------------------------------------------------------------------------------------------------------
+	protected EtlRequestDto<T, Long> procesarPorRegistro(EtlRequestDto<T, Long> request) {
+		Validate.notNull(request, Constantes.VALOR_NO_PUEDE_SER_NULO + "request");
+
+		val reader = getReader(request);
+		Validate.isInstanceOf(StreamingReader.class, reader, "El procesamiento por registro requiere un StreamingReader");
+
+		Path path = request.getPathRuta();
+		Validate.notNull(path, Constantes.VALOR_NO_PUEDE_SER_NULO + "request.getPathRuta()");
+		Validate.isTrue(Files.exists(path), Constantes.NO_SE_ENCONTRO_EL_ARCHIVO + path.toString());
+
+		val separador = getSeparadorCampos(request);
+
+		val archivo = request.getArchivo().getId();
+		val errores = new ArrayList<ArchivoErrorDto>();
+		val cargar = getCargarStage();
+		val pipeline = getPipeline(cargar);
+		val presupuesto = PresupuestoErrores.of(request);
+
+		try {
+			// Los registros se validan y se insertan a medida que se leen, por lo que el
+			// hash se calcula antes, para no procesar un archivo duplicado
+			verificarDuplicado(request, path, calcularHash(request, path));
+
+			val transaction = new TransactionTemplate(transactionManager);
+			transaction.execute(status -> {
+				val numeroLinea = new AtomicInteger();
+
+				pipeline.inicio(request, errores);
+				boolean agotado = false;
+				try {
+					((StreamingReader) reader).read(path, linea -> {
+						if (presupuesto.isAgotado(errores.size())) {
+							throw new PresupuestoAgotadoException();
+						}
+
+						val normalizada = normalizarLinea(linea, separador);
+						if (normalizada == null) {
+							return;
+						}
+
+						val registro = new RegistroDto<T, Long>(numeroLinea.getAndIncrement(), normalizada);
+						if (registro.getNumeroLinea() == 0) {
+							pipeline.encabezado(registro);
+						} else {
+							pipeline.procesar(registro);
+						}
+					});
+				} catch (IOException e) {
+					pipeline.cancelar();
+					throw new UncheckedIOException(e);
+				} catch (PresupuestoAgotadoException e) {
+					agotado = true;
+				} catch (RuntimeException e) {
+					pipeline.cancelar();
+					throw e;
+				}
+				pipeline.fin();
+
+				if (agotado || presupuesto.isAgotado(errores.size())) {
+					presupuesto.resumir(errores, archivo, numeroLinea.get(), agotado ? -1 : 0);
+				}
+
+				if (!errores.isEmpty()) {
+					throw new EtlRuntimeException(archivo, Constantes.OCURRIERON_ERRORES_DURANTE_LA_TRANSFORMACION, errores);
+				}
+				Validate.isTrue(cargar.getTotal() > 0, "El archivo no contiene registros validos.");
+				return null;
+			});
+
+			return request;
+		} catch (EtlRuntimeException e) {
+			throw e;
+		} catch (IOException | UncheckedIOException e) {
+			log.error(Constantes.ERROR_LECTURA_ARCHIVO, path.getFileName().toString(), e.getMessage());
+			throw new EtlRuntimeException(archivo, e.getMessage(), e);
+		}
+	}
+
+	protected Stage<T, Long> getPipeline(Stage<T, Long> cargar) {
+		// @formatter:off
+		val result = getLimpiarLineasStage(
+				getIncluirEncabezadoStage(
+				getCheckNumeroDeColumnasStage(
+				getCamposSplitterStage(
+				getVolcadoStage(
+				new IncluirCamposStage<>(
+				getEnriquecerCamposStage(
+				getFiltrarRegistrosStage(
+				new CheckRestriccionesDeCamposStage<>(
+				new CheckRegistrosDuplicadosStage<>(
+				getMapEntidadStage(
+				cargar
+				)))))))))));
+		// @formatter:on
+
+		return result;
+	}
+
+	protected CargarStage<T> getCargarStage() {
+		return new CargarStage<>(getRepository(), getTamanoLote(), () -> entityManager.clear());
+	}
+
+	protected Stage<T, Long> getMapEntidadStage(Stage<T, Long> next) {
+		val mapper = getMapEntidadDecorator(new DummyDecorator<>());
+		Validate.isInstanceOf(MapEntidadDecorator.class, mapper,
+				"El procesamiento por registro requiere que getMapEntidadDecorator retorne un MapEntidadDecorator");
+		return new MapEntidadStage<T, Long>((MapEntidadDecorator<T, Long>) mapper, next);
+	}
+
+	protected Stage<T, Long> getCamposSplitterStage(Stage<T, Long> next) {
+		validarDecorador(getCamposSplitterDecorator(new DummyDecorator<>()), CamposSplitterDecorator.class,
+				"getCamposSplitterDecorator", "getCamposSplitterStage");
+		return new CamposSplitterStage<T, Long>(next);
+	}
+
+	protected Stage<T, Long> getCheckNumeroDeColumnasStage(Stage<T, Long> next) {
+		validarDecorador(getCheckNumeroDeColumnasDecorator(new DummyDecorator<>()),
+				CheckNumeroDeColumnasDecorator.class, "getCheckNumeroDeColumnasDecorator",
+				"getCheckNumeroDeColumnasStage");
+		return new CheckNumeroDeColumnasStage<T, Long>(next);
+	}
+
+	protected Stage<T, Long> getFiltrarRegistrosStage(Stage<T, Long> next) {
+		validarDecorador(getFiltrarRegistrosDecorator(new DummyDecorator<>()), DummyDecorator.class,
+				"getFiltrarRegistrosDecorator", "getFiltrarRegistrosStage");
+		return new DummyStage<T, Long>(next);
+	}
+
+	protected Stage<T, Long> getEnriquecerCamposStage(Stage<T, Long> next) {
+		validarDecorador(getEnriquecerCamposDecorator(new DummyDecorator<>()), DummyDecorator.class,
+				"getEnriquecerCamposDecorator", "getEnriquecerCamposStage");
+		return new DummyStage<T, Long>(next);
+	}
+
+	protected Stage<T, Long> getLimpiarLineasStage(Stage<T, Long> next) {
+		validarDecorador(getLimpiarLineasDecorator(new DummyDecorator<>()), DummyDecorator.class,
+				"getLimpiarLineasDecorator", "getLimpiarLineasStage");
+		return new DummyStage<T, Long>(next);
+	}
+
+	protected Stage<T, Long> getIncluirEncabezadoStage(Stage<T, Long> next) {
+		validarDecorador(getIncluirEncabezadoDecorator(new DummyDecorator<>()), DummyDecorator.class,
+				"getIncluirEncabezadoDecorator", "getIncluirEncabezadoStage");
+		return new DummyStage<T, Long>(next);
+	}
+
+	/**
+	 * Los decoradores procesan todos los registros del archivo a la vez y no se
+	 * pueden aplicar registro por registro. Si una subclase redefine el decorador
+	 * de un paso sin redefinir la etapa correspondiente, el archivo se rechaza en
+	 * lugar de omitir el decorador.
+	 */
+	private void validarDecorador(Decorator<T, Long> decorador, Class<?> predeterminado, String hookDecorador,
+			String hookEtapa) {
+		String format = "El procesamiento por registro requiere redefinir %s, porque %s fue redefinido.";
+		Validate.validState(decorador.getClass() == predeterminado, format, hookEtapa, hookDecorador);
+	}
+
 	// ----------------------------------------------------------------------------------------------------------------
 	// BACKUP
 	// ----------------------------------------------------------------------------------------------------------------
@@ -312,4 +915,15 @@ public abstract class InputServiceImpl<T extends Registro> implements InputServi
 			log.error(mensaje, origen.toString(), archivoError, e);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Detiene la lectura del archivo cuando se alcanza el máximo de errores.
+	 */
+	private static class PresupuestoAgotadoException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+
+		public PresupuestoAgotadoException() {
+			super(null, null, false, false);
+		}
+	}
+}